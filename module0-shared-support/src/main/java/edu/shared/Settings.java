@@ -0,0 +1,69 @@
+package edu.shared;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Typed access to the system properties that tune the shared test infrastructure.
+ * Every value can be overridden on the command line, e.g. {@code mvn test -Dsession.maxUses=5}.
+ */
+public final class Settings {
+
+    private Settings() {
+    }
+
+    public static String string(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int integer(String key, int defaultValue) {
+        String value = string(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Worker threads for parallel suites ({@code test.threads}), defaulting to the available cores.
+     */
+    public static int threads() {
+        return Math.max(1, integer("test.threads", Runtime.getRuntime().availableProcessors()));
+    }
+
+    public static boolean flag(String key, boolean defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * The constant of {@code defaultValue}'s enum named by {@code key}, ignoring case and blanks.
+     */
+    public static <E extends Enum<E>> E option(String key, E defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : parse(key, defaultValue.getDeclaringClass(), value);
+    }
+
+    /**
+     * The constant of {@code type} named {@code value}, ignoring case and blanks. Unlike a bad number,
+     * a bad name fails with the list of valid ones: a fallback would silently run a different mode.
+     */
+    public static <E extends Enum<E>> E parse(String key, Class<E> type, String value) {
+        String name = value.trim().toUpperCase(Locale.ROOT);
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Invalid -D" + key + "=" + value + "; expected one of "
+                + Arrays.stream(type.getEnumConstants()).map(e -> e.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(", ")));
+    }
+}
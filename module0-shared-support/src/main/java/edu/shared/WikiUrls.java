@@ -0,0 +1,60 @@
+package edu.shared;
+
+import edu.standin.WikiStandIn;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Where the suites point their browsers. With {@code -Dwiki.target=live} (the default) this is the
+ * real Wikipedia; with {@code -Dwiki.target=standin} an embedded {@link WikiStandIn} is started once
+ * per JVM and every host is served from it, so runs need no network and see a fixed latency
+ * ({@code -Dstandin.latencyMs}, default 0).
+ */
+public final class WikiUrls {
+
+    private static volatile WikiStandIn standIn;
+
+    private WikiUrls() {
+    }
+
+    public static boolean isStandIn() {
+        return "standin".equalsIgnoreCase(Settings.string("wiki.target", "live"));
+    }
+
+    /**
+     * Replacement for {@code https://<host>}, without a trailing slash.
+     */
+    public static String origin(String host) {
+        return isStandIn() ? standIn().origin(host) : "https://" + host;
+    }
+
+    /**
+     * The multilingual portal page ({@code https://www.wikipedia.org/}).
+     */
+    public static String portal() {
+        return origin("www.wikipedia.org") + "/";
+    }
+
+    public static String article(String lang, String title) {
+        return origin(lang + ".wikipedia.org") + "/wiki/" + title;
+    }
+
+    private static WikiStandIn standIn() {
+        if (standIn == null) {
+            synchronized (WikiUrls.class) {
+                if (standIn == null) {
+                    try {
+                        standIn = WikiStandIn.start(Settings.integer("standin.port", 0),
+                                Settings.integer("standin.latencyMs", 0));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not start the Wikipedia stand-in", e);
+                    }
+                    System.out.println("Serving Wikipedia from the stand-in at " + standIn.baseUrl());
+                    Runtime.getRuntime().addShutdownHook(new Thread(standIn::stop, "wiki-standin-stop"));
+                }
+            }
+        }
+        return standIn;
+    }
+}
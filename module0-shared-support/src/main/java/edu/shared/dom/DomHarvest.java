@@ -0,0 +1,175 @@
+package edu.shared.dom;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the text and attributes of every matching element in one script execution, instead of one
+ * WebDriver round trip per {@code getAttribute}/{@code getText} call.
+ * <pre>{@code
+ * List<DomHarvest.Harvested> links = DomHarvest.links(driver)
+ *         .within("#mw-content-text")
+ *         .hostMatching("[a-z]{2}\\.wikipedia\\.org")
+ *         .harvest();
+ * }</pre>
+ * {@code href} and {@code src} are reported resolved to absolute URLs, like
+ * {@code WebElement.getAttribute} does; text is the rendered {@code innerText}, trimmed.
+ */
+public final class DomHarvest {
+
+    /** One harvested element, detached from the page. Missing attributes are {@code null}. */
+    public record Harvested(String tag, String text, Map<String, String> attributes) {
+
+        public String attribute(String name) {
+            return attributes.get(name);
+        }
+
+        public String href() {
+            return attributes.get("href");
+        }
+    }
+
+    private static final String SCRIPT = """
+            var scopes = arguments[0] ? document.querySelectorAll(arguments[0]) : [document];
+            var names = arguments[2];
+            var seen = new Set();
+            var out = [];
+            for (var s = 0; s < scopes.length; s++) {
+              var matches = scopes[s].querySelectorAll(arguments[1]);
+              for (var i = 0; i < matches.length; i++) {
+                var el = matches[i];
+                if (seen.has(el)) continue;
+                seen.add(el);
+                var attrs = {};
+                for (var n = 0; n < names.length; n++) {
+                  var name = names[n];
+                  var resolved = (name === 'href' || name === 'src') && typeof el[name] === 'string' && el[name];
+                  attrs[name] = resolved || el.getAttribute(name);
+                }
+                out.push({tag: el.tagName.toLowerCase(), text: (el.innerText || '').trim(), attrs: attrs});
+              }
+            }
+            return out;
+            """;
+
+    private DomHarvest() {
+    }
+
+    public static Query select(WebDriver driver, String cssSelector) {
+        return new Query(driver, cssSelector);
+    }
+
+    /**
+     * All {@code a} elements, harvesting {@code href} and {@code title}.
+     */
+    public static Query links(WebDriver driver) {
+        return select(driver, "a").attributes("href", "title");
+    }
+
+    public static final class Query {
+        private final WebDriver driver;
+        private final String selector;
+        private String scope;
+        private final List<String> attributes = new ArrayList<>();
+        private Predicate<Harvested> filter = h -> true;
+        private int limit = Integer.MAX_VALUE;
+
+        private Query(WebDriver driver, String selector) {
+            this.driver = driver;
+            this.selector = selector;
+        }
+
+        /**
+         * Only elements inside containers matching {@code cssSelector}.
+         */
+        public Query within(String cssSelector) {
+            this.scope = cssSelector;
+            return this;
+        }
+
+        public Query attributes(String... names) {
+            for (String name : names) {
+                if (!attributes.contains(name)) {
+                    attributes.add(name);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Keeps elements whose whole {@code href} matches {@code regex}.
+         */
+        public Query hrefMatching(String regex) {
+            Pattern pattern = Pattern.compile(regex);
+            attributes("href");
+            return where(h -> h.href() != null && pattern.matcher(h.href()).matches());
+        }
+
+        /**
+         * Keeps elements whose {@code href} points at a host matching {@code regex}.
+         */
+        public Query hostMatching(String regex) {
+            Pattern pattern = Pattern.compile(regex);
+            attributes("href");
+            return where(h -> {
+                String host = host(h.href());
+                return host != null && pattern.matcher(host).matches();
+            });
+        }
+
+        public Query textContaining(String fragment) {
+            String lower = fragment.toLowerCase();
+            return where(h -> h.text().toLowerCase().contains(lower));
+        }
+
+        public Query where(Predicate<Harvested> predicate) {
+            filter = filter.and(predicate);
+            return this;
+        }
+
+        public Query limit(int maxResults) {
+            this.limit = maxResults;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public List<Harvested> harvest() {
+            Object raw = ((JavascriptExecutor) driver).executeScript(SCRIPT, scope, selector, attributes);
+            List<Harvested> results = new ArrayList<>();
+            for (Object item : (List<Object>) raw) {
+                Map<String, Object> element = (Map<String, Object>) item;
+                Map<String, String> values = new LinkedHashMap<>();
+                ((Map<String, Object>) element.get("attrs")).forEach((k, v) -> values.put(k, v == null ? null : v.toString()));
+                Harvested harvested = new Harvested((String) element.get("tag"),
+                        Objects.toString(element.get("text"), ""), values);
+                if (filter.test(harvested)) {
+                    results.add(harvested);
+                    if (results.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            return results;
+        }
+
+        private static String host(String href) {
+            if (href == null) {
+                return null;
+            }
+            try {
+                return URI.create(href).getHost();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package edu.shared.dom;
+
+import edu.shared.Settings;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+
+/**
+ * Puts a whole string into a text field at once, instead of {@code sendKeys} per character.
+ * <p>
+ * By default one script call focuses the field, inserts the text at the end and dispatches an
+ * {@code input} event. No key events fire, so the page's {@code input} listeners (suggestions,
+ * validation) run once for the whole string. Tests that measure keystroke behaviour type key by key
+ * instead (see {@code SuggestLatency}).
+ * <p>
+ * Script events are not {@code isTrusted}. For a page that ignores untrusted input, {@code -Dinput.mode=cdp}
+ * inserts through DevTools {@code Input.insertText} instead, which costs a second round trip: DevTools
+ * types into whatever has focus, so the field is focused by a script first. {@code -Dinput.mode=keys}
+ * falls back to {@code sendKeys} for pages that need key events. Modes: {@code script} (default),
+ * {@code cdp}, {@code keys}.
+ */
+public final class TextInput {
+
+    public enum Mode { SCRIPT, CDP, KEYS }
+
+    private static final Mode MODE = Settings.option("input.mode", Mode.SCRIPT);
+
+    private static final String FOCUS = """
+            const field = arguments[0];
+            field.focus();
+            const end = field.value.length;
+            try { field.setSelectionRange(end, end); } catch (e) {}""";
+
+    private static final String INSERT = """
+            const field = arguments[0], text = arguments[1];
+            field.focus();
+            const end = field.value.length;
+            field.setRangeText(text, end, end, 'end');
+            field.dispatchEvent(new InputEvent('input', {bubbles: true, inputType: 'insertText', data: text}));""";
+
+    private TextInput() {
+    }
+
+    /**
+     * Appends {@code text} to the field's current value and fires the page's input listeners.
+     */
+    public static void insert(WebDriver driver, WebElement field, String text) {
+        if (text.isEmpty()) {
+            return;
+        }
+        switch (MODE) {
+            case KEYS -> field.sendKeys(text);
+            case CDP -> {
+                if (!(driver instanceof HasCdp cdp)) {
+                    throw new IllegalStateException("input.mode=cdp needs a Chromium session");
+                }
+                ((JavascriptExecutor) driver).executeScript(FOCUS, field);
+                cdp.executeCdpCommand("Input.insertText", Map.of("text", text));
+            }
+            case SCRIPT -> ((JavascriptExecutor) driver).executeScript(INSERT, field, text);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package edu.shared.http;
+
+import edu.shared.dom.DomHarvest;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page fetched over HTTP and parsed with jsoup.
+ */
+final class FetchedPage implements PageView {
+
+    private final String url;
+    private final Document document;
+
+    FetchedPage(String url, Document document) {
+        this.url = url;
+        this.document = document;
+    }
+
+    @Override
+    public String url() {
+        return url;
+    }
+
+    @Override
+    public String title() {
+        return document.title();
+    }
+
+    @Override
+    public int count(String cssSelector) {
+        return document.select(cssSelector).size();
+    }
+
+    @Override
+    public List<DomHarvest.Harvested> select(String cssSelector, String... attributes) {
+        List<DomHarvest.Harvested> out = new ArrayList<>();
+        for (Element element : document.select(cssSelector)) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String name : attributes) {
+                boolean url = name.equals("href") || name.equals("src");
+                values.put(name, !element.hasAttr(name) ? null : url ? element.absUrl(name) : element.attr(name));
+            }
+            out.add(new DomHarvest.Harvested(element.tagName(), element.text(), values));
+        }
+        return out;
+    }
+
+    @Override
+    public boolean browserless() {
+        return true;
+    }
+}
@@ -0,0 +1,112 @@
+package edu.shared.http;
+
+import edu.shared.Settings;
+import edu.shared.metrics.Timeline;
+import org.jsoup.Jsoup;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Hybrid mode ({@code -Dhybrid=true}): {@link Structural} tests read pages fetched with the JDK
+ * {@link HttpClient} and parsed in the JVM instead of rendering them in Chrome. Interaction tests keep
+ * using the browser.
+ * <p>
+ * Fetches run on virtual threads, so {@link #prefetch(String...)} can start every page a class needs
+ * at once. Each URL is fetched once per JVM and shared by all tests that read it; failed fetches are retried.
+ */
+public final class Hybrid {
+
+    private static final boolean ENABLED = Settings.flag("hybrid", false);
+    private static final String USER_AGENT = "this-is-only-a-test/1.0 (structural checks; Java HttpClient)";
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private static final Map<String, CompletableFuture<PageView>> PAGES = new ConcurrentHashMap<>();
+
+    private Hybrid() {
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /**
+     * True when {@code method} is a {@link Structural} test and hybrid mode is on: it needs no browser.
+     */
+    public static boolean isBrowserless(Method method) {
+        return ENABLED && method.isAnnotationPresent(Structural.class);
+    }
+
+    /**
+     * Starts fetching {@code urls} in the background; does nothing unless hybrid mode is on.
+     */
+    public static void prefetch(String... urls) {
+        if (ENABLED) {
+            for (String url : urls) {
+                request(url);
+            }
+        }
+    }
+
+    /**
+     * The page at {@code url}, fetched (or awaited, if already prefetched) and parsed.
+     */
+    public static PageView fetch(String url) {
+        try {
+            return request(url).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * The page currently loaded in {@code driver}, for assertions shared with the fetched path.
+     */
+    public static PageView view(WebDriver driver) {
+        return new RenderedPage(driver);
+    }
+
+    private static CompletableFuture<PageView> request(String url) {
+        CompletableFuture<PageView> page = PAGES.computeIfAbsent(url, Hybrid::send);
+        // Keep only successful pages; after a timeout, error status or I/O failure the next caller retries
+        page.whenComplete((view, failure) -> {
+            if (failure != null) {
+                PAGES.remove(url, page);
+            }
+        });
+        return page;
+    }
+
+    private static CompletableFuture<PageView> send(String url) {
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("User-Agent", USER_AGENT)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    Timeline.span("GET " + url, "http", start);
+                    if (response.statusCode() >= 400) {
+                        throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+                    }
+                    String finalUrl = response.uri().toString();
+                    return (PageView) new FetchedPage(finalUrl, Jsoup.parse(response.body(), finalUrl));
+                });
+    }
+}
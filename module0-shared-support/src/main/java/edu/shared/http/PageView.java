@@ -0,0 +1,34 @@
+package edu.shared.http;
+
+import edu.shared.dom.DomHarvest;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only view of a page for structural assertions, backed either by parsed HTML
+ * ({@link Hybrid#fetch(String)}) or by the page rendered in a browser ({@link Hybrid#view}).
+ * {@code href} and {@code src} attributes are absolute in both.
+ */
+public interface PageView {
+
+    String url();
+
+    String title();
+
+    int count(String cssSelector);
+
+    /**
+     * Tag, text and the named attributes of every element matching {@code cssSelector}.
+     */
+    List<DomHarvest.Harvested> select(String cssSelector, String... attributes);
+
+    default Optional<DomHarvest.Harvested> first(String cssSelector, String... attributes) {
+        return select(cssSelector, attributes).stream().findFirst();
+    }
+
+    /**
+     * True when no browser is involved, so there is nothing to scroll or click.
+     */
+    boolean browserless();
+}
@@ -0,0 +1,44 @@
+package edu.shared.http;
+
+import edu.shared.dom.DomHarvest;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+/**
+ * The page currently loaded in a browser session; each call is a single round trip.
+ */
+final class RenderedPage implements PageView {
+
+    private final WebDriver driver;
+
+    RenderedPage(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public String url() {
+        return driver.getCurrentUrl();
+    }
+
+    @Override
+    public String title() {
+        return driver.getTitle();
+    }
+
+    @Override
+    public int count(String cssSelector) {
+        return driver.findElements(By.cssSelector(cssSelector)).size();
+    }
+
+    @Override
+    public List<DomHarvest.Harvested> select(String cssSelector, String... attributes) {
+        return DomHarvest.select(driver, cssSelector).attributes(attributes).harvest();
+    }
+
+    @Override
+    public boolean browserless() {
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package edu.shared.http;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test whose assertions only read the HTML the server sends (titles, links, attributes,
+ * element counts). With {@code -Dhybrid=true} such a test runs against fetched and parsed HTML from
+ * {@link Hybrid#fetch(String)} and never leases a browser session.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Structural {
+}
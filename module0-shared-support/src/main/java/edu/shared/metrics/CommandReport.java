@@ -0,0 +1,72 @@
+package edu.shared.metrics;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Opens a {@link CommandTimings} log for every test method, exports it when the method ends and
+ * prints its three most expensive command types. Registered through
+ * {@code META-INF/services/org.testng.ITestNGListener}.
+ */
+public class CommandReport implements IInvokedMethodListener, ISuiteListener {
+
+    /** Result attribute holding the test's {@link CommandTimings.Log}, for {@link PerfRecorder}. */
+    static final String LOG_ATTRIBUTE = "edu.shared.commandTimings";
+
+    private volatile String suite = "suite";
+
+    @Override
+    public void onStart(ISuite suite) {
+        this.suite = suite.getName();
+        CommandTimings.startSuite(this.suite);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            CommandTimings.begin(testResult.getTestClass().getRealClass().getSimpleName()
+                    + "." + testResult.getMethod().getMethodName() + invocation(testResult.getParameters()));
+        }
+    }
+
+    /**
+     * Tells data-provider invocations apart, which may run at the same time: a hash of the parameters.
+     */
+    private static String invocation(Object[] parameters) {
+        return parameters.length == 0 ? "" : "#" + Integer.toHexString(Arrays.deepHashCode(parameters));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        CommandTimings.Log log = CommandTimings.end();
+        if (log == null || log.events().isEmpty()) {
+            return;
+        }
+        testResult.setAttribute(LOG_ATTRIBUTE, log);
+        log.export(suite);
+        List<CommandTimings.Summary> top = log.summaries().subList(0, Math.min(3, log.summaries().size()));
+        StringBuilder line = new StringBuilder("Commands: " + log.test() + " top");
+        for (CommandTimings.Summary s : top) {
+            line.append(String.format(" | %s x%d %.0f ms (p95 %.0f ms)", s.command(), s.count(),
+                    CommandTimings.millis(s.totalNanos()), CommandTimings.millis(s.p95Nanos())));
+        }
+        System.out.println(line);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (CommandTimings.enabled()) {
+            System.out.println("Command timings for " + suite.getName() + " written to "
+                    + CommandTimings.directory().toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package edu.shared.metrics;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Times every WebDriver command of a decorated session into {@link CommandTimings}. Element commands
+ * are tagged with the locator the element was found by.
+ */
+public final class CommandTimer implements WebDriverListener {
+
+    /** Calls answered by the client without a round trip to the driver. */
+    private static final Set<String> LOCAL_CALLS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "getCapabilities", "getSessionId",
+            "getWrappedDriver", "getWrappedElement", "getId", "toString", "hashCode", "equals");
+
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Map<Object, String> locators = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private CommandTimer() {
+    }
+
+    /**
+     * Wraps {@code driver} so its commands are timed; returns it unchanged when timings are disabled.
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        if (!CommandTimings.enabled()) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(new CommandTimer()).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_CALLS.contains(method.getName())) {
+            starts.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (LOCAL_CALLS.contains(method.getName()) || starts.get().isEmpty()) {
+            return;
+        }
+        String locator = locatorOf(target, args);
+        if (result instanceof WebElement && locator != null) {
+            locators.put(original(result), locator);
+        } else if (result instanceof Iterable<?> elements && locator != null) {
+            for (Object element : elements) {
+                locators.put(original(element), locator);
+            }
+        }
+        CommandTimings.record(commandName(target, method), locator, starts.get().pop(), false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (!LOCAL_CALLS.contains(method.getName()) && !starts.get().isEmpty()) {
+            CommandTimings.record(commandName(target, method), locatorOf(target, args), starts.get().pop(), true);
+        }
+    }
+
+    private String locatorOf(Object target, Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof By by) {
+                    String within = target instanceof WebElement ? locators.get(target) : null;
+                    return within == null ? by.toString() : within + " >> " + by;
+                }
+            }
+        }
+        return target instanceof WebElement ? locators.get(target) : null;
+    }
+
+    // Results arrive decorated, while later calls name the undecorated element as their target
+    private static Object original(Object element) {
+        return element instanceof WrapsElement wrapper ? wrapper.getWrappedElement() : element;
+    }
+
+    private static String commandName(Object target, Method method) {
+        String name = method.getName();
+        if (target instanceof WebElement) {
+            return "element." + name;
+        }
+        if (target instanceof WebDriver.Navigation) {
+            return "navigate." + name;
+        }
+        if (target instanceof WebDriver.TargetLocator) {
+            return "switchTo." + name;
+        }
+        if (target instanceof Alert) {
+            return "alert." + name;
+        }
+        if (target instanceof WebDriver.Options || target instanceof WebDriver.Window
+                || target instanceof WebDriver.Timeouts) {
+            return "manage." + name;
+        }
+        return name;
+    }
+}
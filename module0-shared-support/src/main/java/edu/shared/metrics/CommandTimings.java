@@ -0,0 +1,233 @@
+package edu.shared.metrics;
+
+import edu.shared.Settings;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-thread log of timed WebDriver commands, waits and pauses, tagged with the test method that
+ * issued them. Every call is also added to the {@link Timeline}.
+ * <p>
+ * {@link CommandReport} opens a log when a test method starts and, when it ends, exports it to
+ * {@code timings.dir} (default {@code target/command-timings}): one JSON file per test invocation with
+ * every command and a p50/p95/max summary per command type, plus one CSV per suite with the summaries of
+ * all its tests. Recording is on by default; {@code -Dtimings.enabled=false} turns it off.
+ */
+public final class CommandTimings {
+
+    /** One timed call. {@code startNanos} is relative to the start of the test. */
+    public record Event(String command, String locator, long startNanos, long durationNanos, boolean failed) {
+
+        /** Whether this is a call to the driver, as opposed to a wait or a pacing pause around such calls. */
+        public boolean isDriverCommand() {
+            String category = category(command);
+            return category.equals("webdriver") || category.equals("navigation");
+        }
+    }
+
+    /** Summary of all calls of one command type within a test. */
+    public record Summary(String command, int count, long totalNanos, long p50Nanos, long p95Nanos, long maxNanos,
+                          int failures) {
+    }
+
+    private static final boolean ENABLED = Settings.flag("timings.enabled", true);
+    private static final Path DIRECTORY = Path.of(Settings.string("timings.dir", "target/command-timings"));
+    private static final String CSV_HEADER = "test,command,count,total_ms,p50_ms,p95_ms,max_ms,failures";
+
+    private static final ThreadLocal<Log> CURRENT = new ThreadLocal<>();
+
+    private CommandTimings() {
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Starts a new log for {@code test} on the calling thread.
+     */
+    public static void begin(String test) {
+        CURRENT.set(ENABLED ? new Log(test, System.nanoTime()) : null);
+    }
+
+    /**
+     * Ends the calling thread's log and returns it, or {@code null} if none was open.
+     */
+    public static Log end() {
+        Log log = CURRENT.get();
+        CURRENT.remove();
+        return log;
+    }
+
+    /**
+     * Records a call that started at {@code startNanos} ({@link System#nanoTime()}) and ends now.
+     * Calls made outside a test (e.g. in configuration methods) are not recorded.
+     */
+    public static void record(String command, String locator, long startNanos, boolean failed) {
+        if (Timeline.enabled()) {
+            Map<String, Object> args = new LinkedHashMap<>();
+            if (locator != null) {
+                args.put("locator", locator);
+            }
+            if (failed) {
+                args.put("failed", true);
+            }
+            Timeline.span(command, category(command), startNanos, args);
+        }
+        Log log = CURRENT.get();
+        if (log != null) {
+            log.events.add(new Event(command, locator, startNanos - log.startNanos, System.nanoTime() - startNanos, failed));
+        }
+    }
+
+    /** The commands of one test method. */
+    public static final class Log {
+        private final String test;
+        private final long startNanos;
+        private final List<Event> events = new ArrayList<>();
+
+        private Log(String test, long startNanos) {
+            this.test = test;
+            this.startNanos = startNanos;
+        }
+
+        public String test() {
+            return test;
+        }
+
+        public List<Event> events() {
+            return Collections.unmodifiableList(events);
+        }
+
+        public List<Summary> summaries() {
+            Map<String, List<Event>> byCommand = new TreeMap<>();
+            for (Event event : events) {
+                byCommand.computeIfAbsent(event.command(), c -> new ArrayList<>()).add(event);
+            }
+            List<Summary> summaries = new ArrayList<>();
+            byCommand.forEach((command, calls) -> {
+                long[] durations = calls.stream().mapToLong(Event::durationNanos).sorted().toArray();
+                long total = 0;
+                for (long duration : durations) {
+                    total += duration;
+                }
+                int failures = (int) calls.stream().filter(Event::failed).count();
+                summaries.add(new Summary(command, durations.length, total, percentile(durations, 50),
+                        percentile(durations, 95), durations[durations.length - 1], failures));
+            });
+            // Hot spots first
+            summaries.sort((a, b) -> Long.compare(b.totalNanos(), a.totalNanos()));
+            return summaries;
+        }
+
+        /**
+         * Writes {@code <suite>.<test>.json} and appends this test's rows to {@code <suite>.csv}.
+         */
+        void export(String suite) {
+            List<Summary> summaries = summaries();
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("test", test);
+            json.put("summary", summaries.stream().map(s -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("command", s.command());
+                row.put("count", s.count());
+                row.put("totalMs", millis(s.totalNanos()));
+                row.put("p50Ms", millis(s.p50Nanos()));
+                row.put("p95Ms", millis(s.p95Nanos()));
+                row.put("maxMs", millis(s.maxNanos()));
+                row.put("failures", s.failures());
+                return row;
+            }).toList());
+            json.put("commands", events.stream().map(e -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("command", e.command());
+                if (e.locator() != null) {
+                    row.put("locator", e.locator());
+                }
+                row.put("startMs", millis(e.startNanos()));
+                row.put("durationMs", millis(e.durationNanos()));
+                if (e.failed()) {
+                    row.put("failed", true);
+                }
+                return row;
+            }).toList());
+
+            StringBuilder csv = new StringBuilder();
+            for (Summary s : summaries) {
+                csv.append(quote(test)).append(',').append(quote(s.command())).append(',').append(s.count())
+                        .append(',').append(millis(s.totalNanos())).append(',').append(millis(s.p50Nanos()))
+                        .append(',').append(millis(s.p95Nanos())).append(',').append(millis(s.maxNanos()))
+                        .append(',').append(s.failures()).append('\n');
+            }
+            try {
+                Files.createDirectories(DIRECTORY);
+                Files.writeString(DIRECTORY.resolve(fileName(suite) + "." + fileName(test) + ".json"), new Json().toJson(json));
+                appendCsv(DIRECTORY.resolve(fileName(suite) + ".csv"), csv.toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write command timings for " + test, e);
+            }
+        }
+    }
+
+    private static String category(String command) {
+        if (command.equals("get") || command.startsWith("navigate.")) {
+            return "navigation";
+        }
+        if (command.equals("wait.until")) {
+            return "wait";
+        }
+        return command.equals("pause") ? "pause" : "webdriver";
+    }
+
+    /**
+     * Empties the suite's CSV so a rerun does not append to the previous run's rows.
+     */
+    static void startSuite(String suite) {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            Files.createDirectories(DIRECTORY);
+            Files.writeString(DIRECTORY.resolve(fileName(suite) + ".csv"), CSV_HEADER + "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the command timings report", e);
+        }
+    }
+
+    static Path directory() {
+        return DIRECTORY;
+    }
+
+    private static synchronized void appendCsv(Path file, String rows) throws IOException {
+        Files.writeString(file, rows, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static String quote(String value) {
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,70 @@
+package edu.shared.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms keyed by category, e.g. the query classes of a benchmark.
+ * <p>
+ * Samples are recorded in microseconds into HdrHistogram histograms (3 significant digits), which
+ * parallel workers can record into concurrently. {@link #write(Path)} prints one percentile line per
+ * category and writes its full percentile distribution, in milliseconds, to {@code <category>.hgrm}.
+ * That is the format the HdrHistogram plotter reads, so two runs can be compared side by side.
+ */
+public final class LatencyReport {
+
+    private final String name;
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public LatencyReport(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records the time from {@code startNanos} ({@link System#nanoTime()}) until now under {@code category}.
+     */
+    public void record(String category, long startNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        histograms.computeIfAbsent(category, c -> new ConcurrentHistogram(3)).recordValue(Math.max(1, micros));
+    }
+
+    public long count() {
+        return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    /**
+     * Prints the summary and writes one {@code .hgrm} file per category into {@code directory}.
+     */
+    public void write(Path directory) {
+        System.out.println(name + ": " + count() + " samples");
+        try {
+            Files.createDirectories(directory);
+            for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+                Histogram h = entry.getValue().copy();
+                System.out.printf("  %-12s n=%-6d p50 %7.1f ms | p90 %7.1f ms | p99 %7.1f ms | p99.9 %7.1f ms | max %7.1f ms%n",
+                        entry.getKey(), h.getTotalCount(), millis(h, 50), millis(h, 90), millis(h, 99),
+                        millis(h, 99.9), h.getMaxValue() / 1000.0);
+                try (PrintStream out = new PrintStream(
+                        Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")), false, "UTF-8")) {
+                    h.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write latency histograms to " + directory, e);
+        }
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
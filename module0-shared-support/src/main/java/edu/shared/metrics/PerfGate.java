@@ -0,0 +1,109 @@
+package edu.shared.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a module's {@link PerfRecorder} results with its baseline and fails the build on
+ * regressions. Bound to the {@code verify} phase of every test module. Baselines depend on the
+ * machine, so they are recorded where the gate runs and not committed; without one the gate only
+ * reports the results.
+ * <p>
+ * A test or suite regresses when its p95 working time exceeds the baseline by more than
+ * {@code perf.threshold} percent (default 20) and by at least {@code perf.minDeltaMs} (default 250,
+ * to ignore noise on short tests), or when it issues more than {@code perf.threshold} percent more
+ * WebDriver commands. Tests missing from the baseline are listed but do not fail the gate.
+ * {@code -Dperf.updateBaseline=true} replaces the baseline with the current results instead;
+ * {@code -Dperf.gate.skip=true} skips the step.
+ * <pre>
+ *   java edu.shared.metrics.PerfGate &lt;results.tsv&gt; &lt;baseline.tsv&gt;
+ * </pre>
+ */
+public final class PerfGate {
+
+    static final String HEADER = "name\tinvocations\tp95_ms\tmax_ms\tcommands";
+
+    record Row(String name, int invocations, long p95Millis, long maxMillis, long commands) {
+    }
+
+    private PerfGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: PerfGate <results.tsv> <baseline.tsv>");
+        }
+        Path results = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        if (!Files.isRegularFile(results)) {
+            System.out.println("PerfGate: no results at " + results + ", nothing to check");
+            return;
+        }
+        if (Boolean.getBoolean("perf.updateBaseline")) {
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("PerfGate: baseline updated at " + baseline);
+            return;
+        }
+        if (!Files.isRegularFile(baseline)) {
+            System.out.println("PerfGate: no baseline at " + baseline + "; record one with -Dperf.updateBaseline=true");
+            return;
+        }
+        List<String> regressions = compare(read(results), read(baseline),
+                Integer.getInteger("perf.threshold", 20), Integer.getInteger("perf.minDeltaMs", 250));
+        if (!regressions.isEmpty()) {
+            System.err.println("PerfGate: " + regressions.size() + " regression(s) against " + baseline);
+            regressions.forEach(r -> System.err.println("  " + r));
+            // exec:java reports the exception as a build failure
+            throw new IllegalStateException("Performance regressions: " + regressions.size());
+        }
+        System.out.println("PerfGate: no regressions against " + baseline);
+    }
+
+    static List<String> compare(Map<String, Row> current, Map<String, Row> baseline, int thresholdPercent,
+                                long minDeltaMillis) {
+        List<String> regressions = new ArrayList<>();
+        double factor = 1 + thresholdPercent / 100.0;
+        current.forEach((name, now) -> {
+            Row before = baseline.get(name);
+            if (before == null) {
+                System.out.println("PerfGate: " + name + " has no baseline (p95 " + now.p95Millis() + " ms)");
+                return;
+            }
+            String line = String.format("%s: p95 %d ms (baseline %d ms), commands %d (baseline %d)",
+                    name, now.p95Millis(), before.p95Millis(), now.commands(), before.commands());
+            boolean slower = now.p95Millis() > before.p95Millis() * factor
+                    && now.p95Millis() - before.p95Millis() >= minDeltaMillis;
+            boolean chattier = now.commands() > before.commands() * factor;
+            if (slower || chattier) {
+                regressions.add(line);
+            } else {
+                System.out.println("PerfGate: ok " + line);
+            }
+        });
+        return regressions;
+    }
+
+    static long p95(long[] sorted) {
+        int rank = (int) Math.ceil(0.95 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static Map<String, Row> read(Path file) throws IOException {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank() || line.startsWith("name\t")) {
+                continue;
+            }
+            String[] c = line.split("\t");
+            rows.put(c[0], new Row(c[0], Integer.parseInt(c[1]), Long.parseLong(c[2]), Long.parseLong(c[3]),
+                    Long.parseLong(c[4])));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,101 @@
+package edu.shared.metrics;
+
+import edu.shared.pacing.Pacing;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the working time (wall-clock minus {@link Pacing} pauses) and WebDriver command count of
+ * every test invocation, plus the working time of each suite, and writes them to
+ * {@code target/perf/results.tsv} for {@link PerfGate}. Neither counts pauses, which keeps demo and
+ * fast runs comparable. A suite's working time is that of its busiest worker thread, the sum of the
+ * working times of the tests it ran; pauses on parallel threads overlap, so subtracting them from the
+ * suite's wall clock would not work. Registered through {@code META-INF/services/org.testng.ITestNGListener}.
+ */
+public class PerfRecorder implements ITestListener, ISuiteListener {
+
+    static final Path RESULTS = Path.of("target", "perf", "results.tsv");
+
+    private static final Map<String, List<long[]>> SAMPLES = new ConcurrentHashMap<>();
+
+    /** Working millis per suite, per worker thread. */
+    private static final Map<String, Map<Long, Long>> SUITE_WORK = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(ISuite suite) {
+        SUITE_WORK.put(suite.getName(), new ConcurrentHashMap<>());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<Long, Long> threads = SUITE_WORK.remove(suite.getName());
+        if (threads != null && !threads.isEmpty()) {
+            sample("suite:" + suite.getName(), Math.max(0, Collections.max(threads.values())), 0);
+        }
+        write();
+    }
+
+    private static void record(ITestResult result) {
+        long elapsed = result.getEndMillis() - result.getStartMillis();
+        long working = Math.max(0, elapsed - TimeUnit.NANOSECONDS.toMillis(Pacing.pausedNanosOnThread()));
+        Object log = result.getAttribute(CommandReport.LOG_ATTRIBUTE);
+        // Pauses and waits are logged alongside the commands; only the commands themselves count
+        int commands = log instanceof CommandTimings.Log timings
+                ? (int) timings.events().stream().filter(CommandTimings.Event::isDriverCommand).count() : 0;
+        sample(result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName(),
+                working, commands);
+        Map<Long, Long> threads = SUITE_WORK.get(result.getTestContext().getSuite().getName());
+        if (threads != null) {
+            threads.merge(Thread.currentThread().threadId(), working, Long::sum);
+        }
+    }
+
+    private static void sample(String name, long workingMillis, int commands) {
+        SAMPLES.computeIfAbsent(name, n -> Collections.synchronizedList(new ArrayList<>()))
+                .add(new long[]{workingMillis, commands});
+    }
+
+    private static synchronized void write() {
+        StringBuilder tsv = new StringBuilder(PerfGate.HEADER).append('\n');
+        new TreeMap<>(SAMPLES).forEach((name, samples) -> {
+            List<long[]> copy;
+            synchronized (samples) {
+                copy = new ArrayList<>(samples);
+            }
+            long[] millis = copy.stream().mapToLong(s -> s[0]).sorted().toArray();
+            long commands = Math.round(copy.stream().mapToLong(s -> s[1]).average().orElse(0));
+            tsv.append(name).append('\t').append(millis.length).append('\t').append(PerfGate.p95(millis))
+                    .append('\t').append(millis[millis.length - 1]).append('\t').append(commands).append('\n');
+        });
+        try {
+            Files.createDirectories(RESULTS.getParent());
+            Files.writeString(RESULTS, tsv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + RESULTS, e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package edu.shared.metrics;
+
+import edu.shared.Settings;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Types a query one key at a time and measures, for every keystroke, how long the suggestion list
+ * takes to update.
+ * <p>
+ * Both ends are timed inside the page: an {@code input} listener stamps each keystroke with the text
+ * typed so far, and a {@code MutationObserver} stamps every change of the suggestion container, so
+ * WebDriver round trips are not part of the numbers. A change is credited to the keystroke whose text
+ * the last suggestion response before it asked for (the {@code search} parameter of the request, from
+ * resource timing), so a late answer for an earlier prefix is not mistaken for a fast one. If no such
+ * request is visible, a change is credited to the newest keystroke only when all earlier ones had
+ * already been answered, and is dropped otherwise.
+ * <p>
+ * Keys are typed at a fixed cadence ({@code suggest.cadenceMs}, default 200) whether or not the list has
+ * caught up, like a person typing. A keystroke the list never showed an answer for is counted as
+ * superseded; after the last key the list gets up to {@code suggest.timeoutMs} (default 5000).
+ * <p>
+ * Every measured keystroke is written to {@code target/perf/suggest-latency.tsv}, and a per-query
+ * summary (p50, p95, max) is printed.
+ */
+public final class SuggestLatency {
+
+    static final Path RESULTS = Path.of("target", "perf", "suggest-latency.tsv");
+
+    private static final long CADENCE_MS = Settings.integer("suggest.cadenceMs", 200);
+    private static final long TIMEOUT_MS = Settings.integer("suggest.timeoutMs", 5000);
+
+    private static final String INSTALL = """
+            const input = arguments[0], list = arguments[1];
+            const s = window.__suggestLatency = {since: performance.now(), keys: [], renders: []};
+            performance.setResourceTimingBufferSize(Math.max(1000, performance.getEntriesByType('resource').length + 500));
+            input.addEventListener('input', () => s.keys.push({at: performance.now(), prefix: input.value}), true);
+            new MutationObserver(() => s.renders.push(performance.now()))
+                .observe(list, {childList: true, subtree: true, characterData: true});
+            // Latency per keystroke: each render is credited to the keystroke whose prefix it shows
+            s.attribute = () => {
+              const answers = performance.getEntriesByType('resource')
+                  .filter(e => e.responseEnd >= s.since)
+                  .map(e => { try { return {end: e.responseEnd, query: new URL(e.name).searchParams.get('search')}; }
+                              catch (x) { return {end: e.responseEnd, query: null}; } })
+                  .filter(a => a.query !== null)
+                  .sort((a, b) => a.end - b.end);
+              const updates = s.keys.map(() => null);
+              for (const at of s.renders) {
+                let k = -1;
+                const answered = answers.filter(a => a.end <= at).pop();
+                if (answered) {
+                  for (let i = s.keys.length - 1; i >= 0 && k < 0; i--) {
+                    if (s.keys[i].at <= at && s.keys[i].prefix === answered.query) k = i;
+                  }
+                } else {
+                  // No suggestion request seen: only credit the newest key if every earlier one was answered
+                  k = s.keys.filter(key => key.at <= at).length - 1;
+                  if (k > 0 && updates[k - 1] === null) k = -1;
+                }
+                if (k >= 0 && updates[k] === null) updates[k] = at - s.keys[k].at;
+              }
+              return updates;
+            };""";
+
+    // Until the next keystroke is due, or until the last keystroke's update (or the timeout)
+    private static final String AWAIT = """
+            const k = arguments[0], last = arguments[1], budget = arguments[2], done = arguments[3];
+            const s = window.__suggestLatency;
+            const typed = s.keys[k] === undefined ? performance.now() : s.keys[k].at;
+            (function poll() {
+              const waited = performance.now() - typed;
+              if (waited >= budget || (last && s.attribute()[k] != null)) done(null);
+              else setTimeout(poll, last ? 5 : Math.max(1, budget - waited));
+            })();""";
+
+    private static final List<String> ROWS = new ArrayList<>();
+
+    private SuggestLatency() {
+    }
+
+    /**
+     * One keystroke: the text typed so far and the update latency, {@code null} if superseded.
+     */
+    public record Keystroke(int index, String prefix, Double millis) {
+    }
+
+    public record Result(String query, List<Keystroke> keystrokes) {
+
+        public List<Double> latencies() {
+            return keystrokes.stream().map(Keystroke::millis).filter(Objects::nonNull).sorted().toList();
+        }
+
+        public int superseded() {
+            return keystrokes.size() - latencies().size();
+        }
+
+        /**
+         * Whether the list updated after the last keystroke.
+         */
+        public boolean settled() {
+            return !keystrokes.isEmpty() && keystrokes.get(keystrokes.size() - 1).millis() != null;
+        }
+
+        public double percentile(double p) {
+            List<Double> sorted = latencies();
+            if (sorted.isEmpty()) {
+                return Double.NaN;
+            }
+            return sorted.get(Math.max(0, (int) Math.ceil(p / 100.0 * sorted.size()) - 1));
+        }
+
+        public String summary() {
+            return String.format("'%s' %d keystrokes, %d updates, p50 %.0f ms, p95 %.0f ms, max %.0f ms, %d superseded",
+                    query, keystrokes.size(), latencies().size(), percentile(50), percentile(95), percentile(100),
+                    superseded());
+        }
+    }
+
+    /**
+     * Types {@code query} into {@code input} and times the updates of {@code list}.
+     */
+    @SuppressWarnings("unchecked")
+    public static Result type(WebDriver driver, WebElement input, WebElement list, String query) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        js.executeScript(INSTALL, input, list);
+        int length = query.length();
+        for (int k = 0; k < length; k++) {
+            input.sendKeys(query.substring(k, k + 1));
+            boolean last = k == length - 1;
+            js.executeAsyncScript(AWAIT, k, last, last ? TIMEOUT_MS : CADENCE_MS);
+        }
+
+        List<Object> updates = (List<Object>) js.executeScript("return window.__suggestLatency.attribute();");
+        List<Keystroke> keystrokes = new ArrayList<>();
+        for (int k = 0; k < length; k++) {
+            Object millis = k < updates.size() ? updates.get(k) : null;
+            keystrokes.add(new Keystroke(k + 1, query.substring(0, k + 1),
+                    millis instanceof Number n ? n.doubleValue() : null));
+        }
+        Result result = new Result(query, List.copyOf(keystrokes));
+        System.out.println("SuggestLatency: " + result.summary());
+        write(result);
+        return result;
+    }
+
+    private static synchronized void write(Result result) {
+        for (Keystroke k : result.keystrokes()) {
+            ROWS.add(result.query() + "\t" + k.index() + "\t" + k.prefix() + "\t"
+                    + (k.millis() == null ? "" : String.format("%.1f", k.millis())));
+        }
+        try {
+            Files.createDirectories(RESULTS.getParent());
+            Files.write(RESULTS, withHeader());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + RESULTS, e);
+        }
+    }
+
+    private static List<String> withHeader() {
+        List<String> lines = new ArrayList<>(ROWS.size() + 1);
+        lines.add("query\tkeystroke\tprefix\tlatency_ms");
+        lines.addAll(ROWS);
+        return lines;
+    }
+}
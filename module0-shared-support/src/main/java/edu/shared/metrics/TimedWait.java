@@ -0,0 +1,31 @@
+package edu.shared.metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * A {@link WebDriverWait} that records each {@code until} as one {@code wait.until} entry in
+ * {@link CommandTimings}, tagged with the condition, next to the polling commands it issues.
+ */
+public class TimedWait extends WebDriverWait {
+
+    public TimedWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            V value = super.until(isTrue);
+            failed = false;
+            return value;
+        } finally {
+            CommandTimings.record("wait.until", String.valueOf(isTrue), start, failed);
+        }
+    }
+}
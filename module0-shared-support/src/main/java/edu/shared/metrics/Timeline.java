@@ -0,0 +1,171 @@
+package edu.shared.metrics;
+
+import edu.shared.Settings;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-run timeline in Chrome trace-event format, for Perfetto ({@code ui.perfetto.dev}) or
+ * {@code chrome://tracing}.
+ * <p>
+ * Every test JVM records suites, test classes, test and configuration methods, session starts and
+ * quits, and WebDriver commands, waits and pauses as nested spans on one track per thread. When a
+ * suite finishes, and again at exit, the JVM writes its spans to {@code <timeline.dir>/<timeline.run>/<pid>.json}
+ * and merges all fragments of the same run into {@code <timeline.dir>/timeline.json}. A multi-module
+ * {@code mvn test} therefore ends with one file covering all modules, each as its own process.
+ * Surefire passes the reactor's root {@code target/timeline} directory and build timestamp. Outside
+ * Maven the defaults are {@code target/timeline} and a per-JVM run id. Disable with
+ * {@code -Dtimeline.enabled=false}.
+ */
+public final class Timeline {
+
+    private record Span(String name, String category, long threadId, long startMicros, long durationMicros,
+                        Map<String, Object> args) {
+    }
+
+    private static final boolean ENABLED = Settings.flag("timeline.enabled", true);
+    private static final Path DIRECTORY = Path.of(Settings.string("timeline.dir", "target/timeline"));
+    private static final long PID = ProcessHandle.current().pid();
+    private static final String RUN = Settings.string("timeline.run", "jvm-" + PID);
+
+    // Wall-clock anchor, so fragments written by different JVMs line up on one time axis
+    private static final long EPOCH_MICROS_AT_START = TimeUnit.MILLISECONDS.toMicros(Instant.now().toEpochMilli());
+    private static final long NANOS_AT_START = System.nanoTime();
+
+    private static final Queue<Span> SPANS = new ConcurrentLinkedQueue<>();
+    private static final Map<Long, String> THREAD_NAMES = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(Timeline::write, "timeline-writer"));
+        }
+    }
+
+    private Timeline() {
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Records a span on the calling thread that started at {@code startNanos} ({@link System#nanoTime()})
+     * and ends now.
+     */
+    public static void span(String name, String category, long startNanos, Map<String, Object> args) {
+        if (!ENABLED) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        THREAD_NAMES.putIfAbsent(thread.threadId(), thread.getName());
+        SPANS.add(new Span(name, category, thread.threadId(), micros(startNanos),
+                Math.max(1, (System.nanoTime() - startNanos) / 1000), args));
+    }
+
+    public static void span(String name, String category, long startNanos) {
+        span(name, category, startNanos, Map.of());
+    }
+
+    /**
+     * Writes this JVM's fragment and rebuilds the merged timeline of the run.
+     */
+    public static synchronized void write() {
+        if (!ENABLED || SPANS.isEmpty()) {
+            return;
+        }
+        Path runDirectory = DIRECTORY.resolve(CommandTimings.fileName(RUN));
+        try {
+            Files.createDirectories(runDirectory);
+            String events = new Json().toJson(traceEvents());
+            // Drop the enclosing brackets so fragments can be concatenated into one array
+            Files.writeString(runDirectory.resolve(PID + ".json"), events.substring(1, events.length() - 1).trim());
+
+            List<String> fragments = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(runDirectory, "*.json")) {
+                for (Path file : files) {
+                    String fragment = Files.readString(file).trim();
+                    if (!fragment.isEmpty()) {
+                        fragments.add(fragment);
+                    }
+                }
+            }
+            Path merged = DIRECTORY.resolve("timeline.json");
+            Files.writeString(merged, "{\"displayTimeUnit\":\"ms\",\"traceEvents\":[" + String.join(",", fragments) + "]}");
+            System.out.println("Timeline: " + merged.toAbsolutePath() + " (" + fragments.size() + " JVM(s), open in ui.perfetto.dev)");
+        } catch (IOException e) {
+            System.err.println("Timeline: could not write " + runDirectory + ": " + e.getMessage());
+        }
+    }
+
+    private static List<Map<String, Object>> traceEvents() {
+        List<Span> spans = new ArrayList<>(SPANS);
+        List<Map<String, Object>> events = new ArrayList<>();
+
+        events.add(metadata("process_name", 0, Map.of("name",
+                Path.of(System.getProperty("user.dir")).getFileName() + " (pid " + PID + ")")));
+        THREAD_NAMES.forEach((tid, name) -> events.add(metadata("thread_name", tid, Map.of("name", name))));
+
+        // Test-class spans enclose that class's methods on each thread that ran some of them
+        Map<String, long[]> classExtents = new LinkedHashMap<>();
+        for (Span span : spans) {
+            Object testClass = span.args().get("class");
+            if (testClass != null && ("test".equals(span.category()) || "config".equals(span.category()))) {
+                long[] extent = classExtents.computeIfAbsent(span.threadId() + "|" + testClass,
+                        k -> new long[]{Long.MAX_VALUE, Long.MIN_VALUE});
+                extent[0] = Math.min(extent[0], span.startMicros());
+                extent[1] = Math.max(extent[1], span.startMicros() + span.durationMicros());
+            }
+        }
+        classExtents.forEach((key, extent) -> {
+            int separator = key.indexOf('|');
+            events.add(complete(new Span(key.substring(separator + 1), "class",
+                    Long.parseLong(key.substring(0, separator)), extent[0], extent[1] - extent[0], Map.of())));
+        });
+        for (Span span : spans) {
+            events.add(complete(span));
+        }
+        return events;
+    }
+
+    private static Map<String, Object> complete(Span span) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", span.name());
+        event.put("cat", span.category());
+        event.put("ph", "X");
+        event.put("ts", span.startMicros());
+        event.put("dur", span.durationMicros());
+        event.put("pid", PID);
+        event.put("tid", span.threadId());
+        if (!span.args().isEmpty()) {
+            event.put("args", span.args());
+        }
+        return event;
+    }
+
+    private static Map<String, Object> metadata(String name, long tid, Map<String, Object> args) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", name);
+        event.put("ph", "M");
+        event.put("pid", PID);
+        event.put("tid", tid);
+        event.put("args", args);
+        return event;
+    }
+
+    private static long micros(long nanos) {
+        return EPOCH_MICROS_AT_START + (nanos - NANOS_AT_START) / 1000;
+    }
+}
@@ -0,0 +1,60 @@
+package edu.shared.metrics;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feeds suites and test/configuration methods into the {@link Timeline} and writes it after each
+ * suite. Registered through {@code META-INF/services/org.testng.ITestNGListener}.
+ */
+public class TimelineListener implements IInvokedMethodListener, ISuiteListener {
+
+    private final Map<String, Long> suiteStarts = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> methodStart = new ThreadLocal<>();
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStarts.put(suite.getName(), System.nanoTime());
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        methodStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Long start = methodStart.get();
+        methodStart.remove();
+        if (start == null) {
+            return;
+        }
+        Timeline.span(testResult.getMethod().getMethodName(), method.isTestMethod() ? "test" : "config", start,
+                Map.of("class", testResult.getTestClass().getRealClass().getSimpleName(),
+                        "status", status(testResult.getStatus())));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Long start = suiteStarts.remove(suite.getName());
+        if (start != null) {
+            Timeline.span(suite.getName(), "suite", start);
+        }
+        Timeline.write();
+    }
+
+    private static String status(int status) {
+        return switch (status) {
+            case ITestResult.SUCCESS -> "passed";
+            case ITestResult.FAILURE -> "failed";
+            case ITestResult.SKIP -> "skipped";
+            default -> "other";
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package edu.shared.net;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Resource types the browser should not load while the annotated test runs. On a class it applies
+ * to every test method; an annotation on the method replaces the class one, so
+ * {@code @BlockResources({})} lets a single test load everything again.
+ * Applied by {@link ResourceBlocking}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface BlockResources {
+
+    ResourceType[] value();
+}
@@ -0,0 +1,119 @@
+package edu.shared.net;
+
+import edu.shared.Settings;
+import edu.shared.http.Hybrid;
+import edu.shared.session.ThreadSessions;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies {@link BlockResources} through DevTools {@code Network.setBlockedURLs} for the duration of
+ * each test method, on the calling thread's session, and lifts the block afterwards so pooled sessions
+ * come back unrestricted. Blocked requests fail inside the browser without reaching the network.
+ * <p>
+ * Tests without the annotation use {@code -Dblock.resources} (e.g. {@code images,fonts}; default none);
+ * {@code -Dblock.resources=off} disables blocking altogether. Registered through
+ * {@code META-INF/services/org.testng.ITestNGListener}.
+ */
+public class ResourceBlocking implements IInvokedMethodListener {
+
+    private static final String CONFIGURED = Settings.string("block.resources", "");
+    private static final boolean DISABLED = "off".equalsIgnoreCase(CONFIGURED);
+    // Parsed once, so a misspelt type stops the run with one clear message instead of failing every test
+    private static final Set<ResourceType> CONFIGURED_TYPES = DISABLED ? Set.of() : parse(CONFIGURED);
+
+    private final ThreadLocal<Boolean> applied = ThreadLocal.withInitial(() -> false);
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || DISABLED) {
+            return;
+        }
+        Method test = method.getTestMethod().getConstructorOrMethod().getMethod();
+        Set<ResourceType> types = typesFor(test);
+        if (types.isEmpty()) {
+            return;
+        }
+        WebDriver driver = ThreadSessions.driver();
+        if (!(driver instanceof HasCdp cdp)) {
+            System.out.println("ResourceBlocking: " + driver.getClass().getSimpleName() + " has no DevTools; nothing blocked");
+            return;
+        }
+        List<String> patterns = patterns(types);
+        cdp.executeCdpCommand("Network.enable", Map.of());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+        applied.set(true);
+        System.out.println("ResourceBlocking: " + testResult.getMethod().getMethodName() + " runs without "
+                + types.toString().toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || !applied.get()) {
+            return;
+        }
+        applied.set(false);
+        if (ThreadSessions.hasSession() && ThreadSessions.driver() instanceof HasCdp cdp) {
+            try {
+                cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", List.of()));
+            } catch (RuntimeException e) {
+                // A broken session is replaced by the pool on release anyway
+                System.err.println("ResourceBlocking: could not lift block: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The URL patterns blocked while {@code test} runs; empty if it runs unrestricted. For pages a test
+     * loads ahead of time in another tab (see {@code TabScheduler}).
+     */
+    public static List<String> patternsFor(Method test) {
+        return patterns(typesFor(test));
+    }
+
+    private static List<String> patterns(Set<ResourceType> types) {
+        List<String> patterns = new ArrayList<>();
+        for (ResourceType type : types) {
+            patterns.addAll(type.patterns());
+        }
+        return patterns;
+    }
+
+    private static Set<ResourceType> typesFor(Method method) {
+        // Browserless tests in hybrid mode have no session to configure
+        if (DISABLED || Hybrid.isBrowserless(method)) {
+            return Set.of();
+        }
+        BlockResources annotation = method.getAnnotation(BlockResources.class);
+        if (annotation == null) {
+            annotation = method.getDeclaringClass().getAnnotation(BlockResources.class);
+        }
+        if (annotation != null) {
+            Set<ResourceType> types = EnumSet.noneOf(ResourceType.class);
+            types.addAll(List.of(annotation.value()));
+            return types;
+        }
+        return CONFIGURED_TYPES;
+    }
+
+    private static Set<ResourceType> parse(String configured) {
+        Set<ResourceType> types = EnumSet.noneOf(ResourceType.class);
+        for (String name : configured.split(",")) {
+            if (!name.isBlank()) {
+                types.add(Settings.parse("block.resources", ResourceType.class, name));
+            }
+        }
+        return types;
+    }
+}
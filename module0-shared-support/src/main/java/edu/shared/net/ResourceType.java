@@ -0,0 +1,39 @@
+package edu.shared.net;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Groups of subresources a test can do without, as URL patterns for DevTools
+ * {@code Network.setBlockedURLs} ({@code *} matches any run of characters).
+ */
+public enum ResourceType {
+
+    IMAGES("png", "jpg", "jpeg", "gif", "webp", "svg", "ico"),
+    FONTS("woff", "woff2", "ttf", "otf", "eot"),
+    MEDIA("mp4", "webm", "ogg", "ogv", "oga", "mp3", "wav"),
+    ANALYTICS(List.of(
+            "*intake-analytics.wikimedia.org*",
+            "*/beacon/*",
+            "*google-analytics.com*",
+            "*googletagmanager.com*"));
+
+    private final List<String> patterns;
+
+    ResourceType(String... extensions) {
+        List<String> patterns = new ArrayList<>();
+        for (String extension : extensions) {
+            patterns.add("*." + extension);
+            patterns.add("*." + extension + "?*");
+        }
+        this.patterns = List.copyOf(patterns);
+    }
+
+    ResourceType(List<String> patterns) {
+        this.patterns = patterns;
+    }
+
+    public List<String> patterns() {
+        return patterns;
+    }
+}
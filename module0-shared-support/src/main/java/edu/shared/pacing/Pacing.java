@@ -0,0 +1,92 @@
+package edu.shared.pacing;
+
+import edu.shared.Settings;
+import edu.shared.metrics.CommandTimings;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deliberate pauses between test steps.
+ * <p>
+ * In {@code demo} mode (the default) every pause sleeps for its demo duration, so a person can
+ * follow the browser. In {@code fast} mode pauses are skipped, which is what CI wants:
+ * <pre>
+ *   mvn test -Dpacing.mode=fast
+ * </pre>
+ * Individual steps can be tuned in either mode with {@code -Dpacing.step.<name>=<millis>},
+ * e.g. {@code -Dpacing.step.typing=100}.
+ * <p>
+ * Time spent sleeping is accounted per thread so {@link PacingReport} can compare it with the
+ * time spent doing real work.
+ */
+public final class Pacing {
+
+    /** Demo duration used by the test classes' plain {@code pause()} helpers. */
+    public static final long DEFAULT_PAUSE_MS = 2000;
+
+    public enum Mode { DEMO, FAST }
+
+    private static final Mode MODE = Settings.option("pacing.mode", Mode.DEMO);
+
+    private static final ThreadLocal<long[]> PAUSED_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+    private static final AtomicLong TOTAL_PAUSED_NANOS = new AtomicLong();
+
+    private Pacing() {
+    }
+
+    public static Mode mode() {
+        return MODE;
+    }
+
+    /**
+     * Pauses for the default step.
+     */
+    public static void pause() {
+        pause("step", DEFAULT_PAUSE_MS);
+    }
+
+    /**
+     * Pauses for a named step; {@code demoMillis} applies in demo mode unless the step is overridden.
+     */
+    public static void pause(String step, long demoMillis) {
+        long millis = resolve(step, demoMillis);
+        if (millis <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Pause interrupted: " + e.getMessage());
+        } finally {
+            long slept = System.nanoTime() - start;
+            PAUSED_NANOS.get()[0] += slept;
+            TOTAL_PAUSED_NANOS.addAndGet(slept);
+            CommandTimings.record("pause", step, start, false);
+        }
+    }
+
+    /**
+     * Paused time recorded on the current thread since the last {@link #resetThread()}.
+     */
+    public static long pausedNanosOnThread() {
+        return PAUSED_NANOS.get()[0];
+    }
+
+    public static void resetThread() {
+        PAUSED_NANOS.get()[0] = 0;
+    }
+
+    public static long totalPausedNanos() {
+        return TOTAL_PAUSED_NANOS.get();
+    }
+
+    private static long resolve(String step, long demoMillis) {
+        int override = Settings.integer("pacing.step." + step, -1);
+        if (override >= 0) {
+            return override;
+        }
+        return MODE == Mode.FAST ? 0 : demoMillis;
+    }
+}
@@ -0,0 +1,68 @@
+package edu.shared.pacing;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports, per test method and per suite, how much wall-clock time went into deliberate
+ * {@link Pacing} pauses compared with real work. Registered for every module through
+ * {@code META-INF/services/org.testng.ITestNGListener}.
+ */
+public class PacingReport implements IInvokedMethodListener, ISuiteListener {
+
+    private final AtomicLong testNanos = new AtomicLong();
+    private final AtomicLong testPausedNanos = new AtomicLong();
+    private long suiteStartNanos;
+    private long suiteStartPausedNanos;
+
+    @Override
+    public void onStart(ISuite suite) {
+        testNanos.set(0);
+        testPausedNanos.set(0);
+        suiteStartNanos = System.nanoTime();
+        suiteStartPausedNanos = Pacing.totalPausedNanos();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            Pacing.resetThread();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        long total = TimeUnit.MILLISECONDS.toNanos(testResult.getEndMillis() - testResult.getStartMillis());
+        long paused = Math.min(Pacing.pausedNanosOnThread(), total);
+        testNanos.addAndGet(total);
+        testPausedNanos.addAndGet(paused);
+        System.out.println("Pacing: " + testResult.getTestClass().getRealClass().getSimpleName()
+                + "." + testResult.getMethod().getMethodName() + " " + describe(total, paused));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        long total = System.nanoTime() - suiteStartNanos;
+        long paused = Pacing.totalPausedNanos() - suiteStartPausedNanos;
+        System.out.println("Pacing summary for " + suite.getName() + " (mode=" + Pacing.mode()
+                + "): tests " + describe(testNanos.get(), testPausedNanos.get())
+                + "; suite " + describe(total, paused));
+    }
+
+    private static String describe(long totalNanos, long pausedNanos) {
+        long work = Math.max(0, totalNanos - pausedNanos);
+        long percent = totalNanos == 0 ? 0 : pausedNanos * 100 / totalNanos;
+        return String.format("%d ms total, %d ms paused (%d%%), %d ms working",
+                TimeUnit.NANOSECONDS.toMillis(totalNanos), TimeUnit.NANOSECONDS.toMillis(pausedNanos),
+                percent, TimeUnit.NANOSECONDS.toMillis(work));
+    }
+}
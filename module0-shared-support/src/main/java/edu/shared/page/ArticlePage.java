@@ -0,0 +1,90 @@
+package edu.shared.page;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Any page rendered by the wiki skin: articles, the main page, talk and history pages.
+ */
+public class ArticlePage extends Page {
+
+    private static final By HISTORY_TAB = By.cssSelector("#ca-history a");
+    private static final By TALK_TAB = By.cssSelector("#ca-talk a");
+    private static final By LOGIN_LINK = By.xpath("//li[@id='pt-login-2']/a");
+    private static final By LOGOUT_LINK = By.xpath("//li[@id='pt-logout']/a");
+    private static final By CONTENT = By.id("mw-content-text");
+
+    public ArticlePage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    public ArticlePage open(String url) {
+        load(url);
+        return this;
+    }
+
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        return present(CONTENT);
+    }
+
+    @Override
+    public ArticlePage ready() {
+        super.ready();
+        return this;
+    }
+
+    public WebElement content() {
+        return element(CONTENT);
+    }
+
+    /**
+     * Opens the "View history" tab and waits for the revision list.
+     */
+    public HistoryPage openHistory() {
+        WebElement link = historyTab();
+        leave(link::click);
+        return new HistoryPage(driver, wait).ready();
+    }
+
+    /**
+     * Opens the "Talk" tab and waits for the talk page.
+     */
+    public ArticlePage openTalk() {
+        WebElement link = talkTab();
+        leave(link::click);
+        return ready();
+    }
+
+    public WebElement historyTab() {
+        return clickable(HISTORY_TAB);
+    }
+
+    public WebElement talkTab() {
+        return clickable(TALK_TAB);
+    }
+
+    public WebElement loginLink() {
+        return clickable(LOGIN_LINK);
+    }
+
+    public WebElement logoutLink() {
+        return clickable(LOGOUT_LINK);
+    }
+
+    /**
+     * Follows the "Log in" link and waits for the login form.
+     */
+    public LoginPage openLogin() {
+        WebElement link = loginLink();
+        leave(link::click);
+        return new LoginPage(driver, wait).ready();
+    }
+
+    public static By userLink(String user) {
+        return By.xpath("//li[@id='pt-userpage-2']/a/span[text()='" + user + "']");
+    }
+}
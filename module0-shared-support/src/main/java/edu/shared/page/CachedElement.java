@@ -0,0 +1,86 @@
+package edu.shared.page;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * An element that is looked up on first use and then reused. When the page underneath has changed
+ * and the element has gone stale, it is looked up once more and the call is repeated, so a
+ * navigation the page object did not see costs one extra round trip instead of a failure.
+ */
+final class CachedElement implements InvocationHandler {
+
+    private final SearchContext context;
+    private final By by;
+    private WebElement current;
+
+    private CachedElement(SearchContext context, By by) {
+        this.context = context;
+        this.by = by;
+    }
+
+    static WebElement of(SearchContext context, By by) {
+        return (WebElement) Proxy.newProxyInstance(CachedElement.class.getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class}, new CachedElement(context, by));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "cached " + by;
+            case "getWrappedElement":
+                return resolve();
+            default:
+                break;
+        }
+        try {
+            return method.invoke(resolve(), args);
+        } catch (InvocationTargetException e) {
+            if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                throw e.getCause();
+            }
+        }
+        current = null;
+        try {
+            return method.invoke(resolve(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Makes sure {@code element} is on the current page: a cached lookup is checked for staleness and
+     * repeated if it went stale. Throws {@code NoSuchElementException} if the page does not have it.
+     */
+    static void refresh(WebElement element) {
+        CachedElement cached = (CachedElement) Proxy.getInvocationHandler(element);
+        if (cached.current != null) {
+            try {
+                cached.current.isEnabled();
+            } catch (StaleElementReferenceException e) {
+                cached.current = null;
+            }
+        }
+        cached.resolve();
+    }
+
+    private WebElement resolve() {
+        if (current == null) {
+            current = context.findElement(by);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,39 @@
+package edu.shared.page;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * A {@code Category:} page.
+ */
+public class CategoryPage extends Page {
+
+    private static final By MEMBERS = By.cssSelector("#mw-pages, #mw-subcategories");
+
+    public CategoryPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    public CategoryPage open(String url) {
+        load(url);
+        return this;
+    }
+
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        return present(MEMBERS);
+    }
+
+    @Override
+    public CategoryPage ready() {
+        super.ready();
+        return this;
+    }
+
+    public WebElement members() {
+        return element(MEMBERS);
+    }
+}
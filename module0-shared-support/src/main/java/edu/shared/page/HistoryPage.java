@@ -0,0 +1,34 @@
+package edu.shared.page;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * A page's revision history ({@code action=history}).
+ */
+public class HistoryPage extends Page {
+
+    private static final By PAGE_HISTORY = By.id("pagehistory");
+
+    public HistoryPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        return present(PAGE_HISTORY);
+    }
+
+    @Override
+    public HistoryPage ready() {
+        super.ready();
+        return this;
+    }
+
+    public WebElement revisions() {
+        return visible(PAGE_HISTORY);
+    }
+}
@@ -0,0 +1,97 @@
+package edu.shared.page;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Special:UserLogin.
+ */
+public class LoginPage extends Page {
+
+    private static final By USERNAME = By.id("wpName1");
+    private static final By PASSWORD = By.id("wpPassword1");
+    private static final By LOGIN_BUTTON = By.id("wpLoginAttempt");
+    private static final By ERROR_BOX = By.cssSelector(".mw-message-box-error");
+
+    public LoginPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    /**
+     * Ready once the form can be filled in.
+     */
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        return d -> element(USERNAME).isDisplayed();
+    }
+
+    @Override
+    public LoginPage ready() {
+        super.ready();
+        return this;
+    }
+
+    public WebElement username() {
+        return visible(USERNAME);
+    }
+
+    public WebElement password() {
+        return element(PASSWORD);
+    }
+
+    public WebElement loginButton() {
+        return element(LOGIN_BUTTON);
+    }
+
+    /**
+     * Fills in both fields (either may be empty) without submitting.
+     */
+    public LoginPage fillIn(String user, String pass) {
+        WebElement username = username();
+        username.clear();
+        username.sendKeys(user);
+        WebElement password = password();
+        password.clear();
+        password.sendKeys(pass);
+        return this;
+    }
+
+    /**
+     * Submits the form and waits for the response page; a form the browser refuses to send (a required
+     * field left empty) stays where it is.
+     */
+    public void submit() {
+        WebElement button = loginButton();
+        if (Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(
+                "return arguments[0].form.checkValidity();", button))) {
+            leave(button::click);
+        } else {
+            button.click();
+        }
+    }
+
+    public void logIn(String user, String pass) {
+        fillIn(user, pass);
+        submit();
+    }
+
+    public WebElement errorMessage() {
+        return visible(ERROR_BOX);
+    }
+
+    public boolean hasErrorBox() {
+        return isPresent(ERROR_BOX);
+    }
+
+    /**
+     * Reloads the form, e.g. between failed attempts.
+     */
+    public LoginPage reload() {
+        leave(driver.navigate()::refresh);
+        return ready();
+    }
+}
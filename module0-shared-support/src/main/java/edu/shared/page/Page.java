@@ -0,0 +1,142 @@
+package edu.shared.page;
+
+import edu.shared.dom.TextInput;
+import edu.shared.http.Hybrid;
+import edu.shared.http.PageView;
+import edu.shared.session.Navigator;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base for the Wikipedia page objects.
+ * <p>
+ * Locators are constants, and each one is resolved at most once per page load: {@link #element(By)}
+ * hands out the same element until the page object loads another document ({@link #load(String)},
+ * or an action that calls {@link #navigated()}). Navigations the page object does not see are caught
+ * by the element itself, which re-resolves when it turns out to be stale. A page object belongs to one
+ * test thread, like its session.
+ * <p>
+ * Sessions load pages eagerly (see {@code BrowserProfile}), so {@code driver.get} returns before the
+ * page has finished loading. Each page type declares its own {@link #readiness()} condition, the
+ * part of the page tests work with, and {@link #load(String)} and {@link #ready()} wait only for that.
+ * Loading the page the session is already on, untouched, only checks it again (see {@link Navigator}).
+ */
+public abstract class Page {
+
+    protected static final By SEARCH_INPUT = By.id("searchInput");
+
+    protected final WebDriver driver;
+    protected final WebDriverWait wait;
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+
+    protected Page(WebDriver driver, WebDriverWait wait) {
+        this.driver = driver;
+        this.wait = wait;
+    }
+
+    /**
+     * What has to be on the page before a test can use it.
+     */
+    protected abstract ExpectedCondition<?> readiness();
+
+    /**
+     * Waits until the page is {@linkplain #readiness() ready}, e.g. after an action elsewhere led to it.
+     */
+    public Page ready() {
+        wait.until(readiness());
+        return this;
+    }
+
+    /**
+     * The search box every Wikipedia page has, once it can be typed into.
+     */
+    public WebElement searchInput() {
+        return clickable(SEARCH_INPUT);
+    }
+
+    /**
+     * Puts {@code text} into the search box in one go (see {@link TextInput}) and returns the box.
+     */
+    public WebElement fillSearch(String text) {
+        WebElement input = searchInput();
+        TextInput.insert(driver, input, text);
+        return input;
+    }
+
+    /**
+     * Enters {@code query} into the search box and submits it.
+     */
+    public void search(String query) {
+        WebElement input = fillSearch(query);
+        leave(input::submit);
+    }
+
+    /**
+     * The loaded page as a {@link PageView}, for assertions shared with the browserless path.
+     */
+    public PageView view() {
+        return Hybrid.view(driver);
+    }
+
+    /**
+     * Forgets the resolved elements; call after anything that loads a new document.
+     */
+    public void navigated() {
+        elements.clear();
+    }
+
+    /**
+     * Runs {@code action}, which loads another document, and waits until the current one is gone, so
+     * that {@link #readiness()} is not satisfied by the page being left.
+     */
+    protected void leave(Runnable action) {
+        WebElement current = driver.findElement(By.tagName("html"));
+        action.run();
+        wait.until(ExpectedConditions.stalenessOf(current));
+        navigated();
+    }
+
+    protected void load(String url) {
+        Navigator.go(driver, url);
+        navigated();
+        ready();
+    }
+
+    /**
+     * The element for {@code by} on the current page, resolved on first use.
+     */
+    protected WebElement element(By by) {
+        return elements.computeIfAbsent(by, b -> CachedElement.of(driver, b));
+    }
+
+    protected WebElement visible(By by) {
+        return wait.until(ExpectedConditions.visibilityOf(element(by)));
+    }
+
+    protected WebElement clickable(By by) {
+        return wait.until(ExpectedConditions.elementToBeClickable(element(by)));
+    }
+
+    /**
+     * Readiness condition: {@code by} is in the current DOM. The element found is kept for later use;
+     * one found on a page that has since been replaced does not count.
+     */
+    protected ExpectedCondition<Boolean> present(By by) {
+        return d -> {
+            CachedElement.refresh(element(by));
+            return true;
+        };
+    }
+
+    protected boolean isPresent(By by) {
+        return !driver.findElements(by).isEmpty();
+    }
+}
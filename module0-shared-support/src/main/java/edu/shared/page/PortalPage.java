@@ -0,0 +1,53 @@
+package edu.shared.page;
+
+import edu.shared.WikiUrls;
+import edu.shared.metrics.SuggestLatency;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * The www.wikipedia.org portal.
+ */
+public class PortalPage extends Page {
+
+    private static final By SUGGESTIONS = By.id("typeahead-suggestions");
+    private static final By SUGGESTION_LINK = By.className("suggestion-link");
+
+    public PortalPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    public PortalPage open() {
+        load(WikiUrls.portal());
+        return this;
+    }
+
+    /**
+     * Types {@code query} into the search box at typing speed, timing each update of the suggestions.
+     */
+    public SuggestLatency.Result typeAhead(String query) {
+        return SuggestLatency.type(driver, searchInput(), element(SUGGESTIONS), query);
+    }
+
+    /**
+     * The first suggestion, once the list shows one.
+     */
+    public WebElement firstSuggestion() {
+        return wait.until(ExpectedConditions.visibilityOfElementLocated(SUGGESTION_LINK));
+    }
+
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        return present(SEARCH_INPUT);
+    }
+
+    @Override
+    public PortalPage ready() {
+        super.ready();
+        return this;
+    }
+}
@@ -0,0 +1,40 @@
+package edu.shared.page;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Special:Search, with results or with the "no results" notice. Search from another page with
+ * {@link Page#search(String)}, which waits for that page to go before this one checks for its outcome.
+ */
+public class SearchResultsPage extends Page {
+
+    private static final By RESULTS = By.className("mw-search-results");
+    private static final By OUTCOME = By.cssSelector(".mw-search-results, .mw-search-nonefound");
+
+    public SearchResultsPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        return present(OUTCOME);
+    }
+
+    @Override
+    public SearchResultsPage ready() {
+        super.ready();
+        return this;
+    }
+
+    public WebElement results() {
+        return element(RESULTS);
+    }
+
+    public boolean hasResults() {
+        return isPresent(RESULTS);
+    }
+}
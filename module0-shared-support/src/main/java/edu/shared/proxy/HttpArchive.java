@@ -0,0 +1,115 @@
+package edu.shared.proxy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk store of recorded responses, one entry per request key ({@code METHOD url}).
+ * <p>
+ * Each entry is a pair of files named after the SHA-256 of its key: {@code <hash>.meta} holds the
+ * URL, status and headers as properties, {@code <hash>.body} the decoded body. Entries are written
+ * through a temporary file and a move, so parallel sessions can record into the same archive.
+ * Entries read once are kept in memory for the rest of the run.
+ */
+public final class HttpArchive {
+
+    /** A recorded response; {@code headers} keeps order and repeated names (e.g. Set-Cookie). */
+    public record Entry(String url, int status, List<Map.Entry<String, String>> headers, byte[] body) {
+    }
+
+    private final Path directory;
+    private final Map<String, Optional<Entry>> loaded = new ConcurrentHashMap<>();
+
+    public HttpArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public Optional<Entry> find(String key) {
+        return loaded.computeIfAbsent(key, this::read);
+    }
+
+    public void store(String key, Entry entry) {
+        String name = hash(key);
+        Properties meta = new Properties();
+        meta.setProperty("key", key);
+        meta.setProperty("url", entry.url());
+        meta.setProperty("status", String.valueOf(entry.status()));
+        for (int i = 0; i < entry.headers().size(); i++) {
+            meta.setProperty("header." + i + ".name", entry.headers().get(i).getKey());
+            meta.setProperty("header." + i + ".value", entry.headers().get(i).getValue());
+        }
+        try {
+            Files.createDirectories(directory);
+            // Body first, so a reader that finds the meta file always finds a complete body
+            writeAtomically(directory.resolve(name + ".body"), entry.body());
+            Path metaTemp = Files.createTempFile(directory, name, ".tmp");
+            try (OutputStream out = Files.newOutputStream(metaTemp)) {
+                meta.store(out, null);
+            }
+            Files.move(metaTemp, directory.resolve(name + ".meta"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record " + entry.url(), e);
+        }
+        loaded.put(key, Optional.of(entry));
+    }
+
+    private Optional<Entry> read(String key) {
+        String name = hash(key);
+        Path metaFile = directory.resolve(name + ".meta");
+        if (!Files.isRegularFile(metaFile)) {
+            return Optional.empty();
+        }
+        try {
+            Properties meta = new Properties();
+            try (InputStream in = Files.newInputStream(metaFile)) {
+                meta.load(in);
+            }
+            List<Map.Entry<String, String>> headers = new ArrayList<>();
+            for (int i = 0; meta.containsKey("header." + i + ".name"); i++) {
+                headers.add(Map.entry(meta.getProperty("header." + i + ".name"),
+                        meta.getProperty("header." + i + ".value", "")));
+            }
+            byte[] body = Files.readAllBytes(directory.resolve(name + ".body"));
+            return Optional.of(new Entry(meta.getProperty("url"),
+                    Integer.parseInt(meta.getProperty("status", "200")), headers, body));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("HttpArchive: unreadable entry for " + key + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
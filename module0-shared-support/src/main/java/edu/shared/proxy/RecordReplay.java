@@ -0,0 +1,154 @@
+package edu.shared.proxy;
+
+import edu.shared.Settings;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Record-and-replay cache for everything a browser session loads (documents, scripts, styles,
+ * fonts, images).
+ * <p>
+ * {@code -Dproxy.mode=record} lets requests through and stores every GET response in an
+ * {@link HttpArchive}; {@code -Dproxy.mode=replay} answers GETs from the archive without touching the
+ * network, after an optional {@code proxy.latencyMs} delay, and fails misses with a 504.
+ * The archive lives in {@code proxy.archive} (default {@code http-archive} under the module directory).
+ * The default mode {@code off} leaves sessions untouched.
+ * <p>
+ * Requests are intercepted inside the browser through the DevTools Fetch domain, so HTTPS works
+ * without a man-in-the-middle certificate. Requests to the local stand-in and non-GET requests
+ * (e.g. the login POST) always go to the network.
+ */
+public final class RecordReplay {
+
+    public enum Mode {OFF, RECORD, REPLAY}
+
+    /** Hop-by-hop and encoding headers; bodies are stored decoded, so these would be wrong on replay. */
+    private static final Set<String> DROPPED_HEADERS = Set.of(
+            "content-encoding", "content-length", "transfer-encoding", "connection", "keep-alive");
+
+    private static final Mode MODE = Settings.option("proxy.mode", Mode.OFF);
+    private static final HttpArchive ARCHIVE = new HttpArchive(Path.of(Settings.string("proxy.archive", "http-archive")));
+    private static final long LATENCY_MILLIS = Settings.integer("proxy.latencyMs", 0);
+
+    private static final AtomicInteger RECORDED = new AtomicInteger();
+    private static final AtomicInteger REPLAYED = new AtomicInteger();
+    private static final Set<String> MISSES = ConcurrentHashMap.newKeySet();
+
+    static {
+        if (MODE != Mode.OFF) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println("RecordReplay: " + stats()),
+                    "record-replay-stats"));
+        }
+    }
+
+    private RecordReplay() {
+    }
+
+    public static Mode mode() {
+        return MODE;
+    }
+
+    /**
+     * Routes a new session through the archive when a mode is active. The interceptor lives as long
+     * as the session, so pooled sessions only need this once.
+     */
+    public static void attach(WebDriver driver) {
+        if (MODE == Mode.OFF) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            System.err.println("RecordReplay: " + driver.getClass().getSimpleName()
+                    + " has no DevTools; requests are not intercepted");
+            return;
+        }
+        // Closed implicitly when the session quits
+        new NetworkInterceptor(driver, MODE == Mode.RECORD ? recording() : replaying());
+        System.out.println("RecordReplay: " + MODE.name().toLowerCase(Locale.ROOT)
+                + " mode, archive " + ARCHIVE.directory().toAbsolutePath());
+    }
+
+    public static String stats() {
+        return "recorded=" + RECORDED.get() + ", replayed=" + REPLAYED.get() + ", misses=" + MISSES.size();
+    }
+
+    private static Filter recording() {
+        return next -> request -> {
+            HttpResponse response = next.execute(request);
+            if (isArchivable(request)) {
+                byte[] body = Contents.bytes(response.getContent());
+                List<Map.Entry<String, String>> headers = new ArrayList<>();
+                response.forEachHeader((name, value) -> {
+                    if (!DROPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                        headers.add(Map.entry(name, value));
+                    }
+                });
+                ARCHIVE.store(key(request), new HttpArchive.Entry(request.getUri(), response.getStatus(), headers, body));
+                RECORDED.incrementAndGet();
+                // The supplier may be single-use, so hand the browser the bytes we already read
+                response.setContent(Contents.bytes(body));
+            }
+            return response;
+        };
+    }
+
+    private static Filter replaying() {
+        return next -> request -> {
+            if (!isArchivable(request)) {
+                return next.execute(request);
+            }
+            Optional<HttpArchive.Entry> entry = ARCHIVE.find(key(request));
+            if (LATENCY_MILLIS > 0) {
+                try {
+                    Thread.sleep(LATENCY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (entry.isEmpty()) {
+                if (MISSES.add(request.getUri())) {
+                    System.err.println("RecordReplay: not in archive: " + request.getUri());
+                }
+                return new HttpResponse().setStatus(504)
+                        .setHeader("Content-Type", "text/plain; charset=utf-8")
+                        .setContent(Contents.utf8String("Not in the replay archive: " + request.getUri()));
+            }
+            REPLAYED.incrementAndGet();
+            HttpResponse response = new HttpResponse().setStatus(entry.get().status());
+            for (Map.Entry<String, String> header : entry.get().headers()) {
+                response.addHeader(header.getKey(), header.getValue());
+            }
+            return response.setContent(Contents.bytes(entry.get().body()));
+        };
+    }
+
+    private static boolean isArchivable(HttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        String host = URI.create(request.getUri()).getHost();
+        return host != null && !host.equals("127.0.0.1") && !host.equals("localhost");
+    }
+
+    private static String key(HttpRequest request) {
+        String uri = request.getUri();
+        int fragment = uri.indexOf('#');
+        return request.getMethod() + " " + (fragment < 0 ? uri : uri.substring(0, fragment));
+    }
+}
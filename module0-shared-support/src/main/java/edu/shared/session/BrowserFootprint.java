@@ -0,0 +1,154 @@
+package edu.shared.session;
+
+import edu.shared.Settings;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Startup time and memory of the browsers started for a run, reported once at the end so the
+ * {@link BrowserProfile}s can be compared.
+ * <p>
+ * Memory is the resident set size of the whole Chrome process tree (browser, GPU, utility and
+ * renderer processes), read from {@code /proc}. The browser process is looked up once per session among
+ * this JVM's descendants (chromedriver and the Chrome it starts), by the session's {@code --user-data-dir};
+ * later samples only walk that process's own descendants. It is sampled when a session is released, i.e. after a test has used it. On systems
+ * without {@code /proc} only startup times are reported. Sessions sharing one browser
+ * ({@code session.mode=contexts}) are each charged an equal share of it.
+ * <p>
+ * The measured peak also bounds how many spare sessions {@link SessionPool#prewarm(int)} may start:
+ * until a session has been sampled, {@code session.browserMb} (default 350) is assumed per browser.
+ */
+final class BrowserFootprint {
+
+    private static final AtomicLong STARTS = new AtomicLong();
+    private static final AtomicLong STARTUP_NANOS = new AtomicLong();
+    private static final AtomicLong MAX_STARTUP_NANOS = new AtomicLong();
+    private static final AtomicLong PEAK_RSS_BYTES = new AtomicLong();
+
+    /** Browser process per {@code --user-data-dir}, so each session is searched for only once. */
+    private static final Map<String, ProcessHandle> BROWSERS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (STARTS.get() > 0) {
+                System.out.println(report());
+            }
+        }, "browser-footprint-report"));
+    }
+
+    private BrowserFootprint() {
+    }
+
+    static void started(long startupNanos) {
+        STARTS.incrementAndGet();
+        STARTUP_NANOS.addAndGet(startupNanos);
+        MAX_STARTUP_NANOS.accumulateAndGet(startupNanos, Math::max);
+    }
+
+    static void sample(WebDriver driver) {
+        if (ContextSessions.owns(driver)) {
+            // Context sessions share one browser; each is charged its share of it
+            int sharing = Math.max(1, ContextSessions.live());
+            ContextSessions.host().flatMap(BrowserFootprint::rssBytes)
+                    .ifPresent(rss -> PEAK_RSS_BYTES.accumulateAndGet(rss / sharing, Math::max));
+            return;
+        }
+        rssBytes(driver).ifPresent(rss -> PEAK_RSS_BYTES.accumulateAndGet(rss, Math::max));
+    }
+
+    /**
+     * How many more browsers fit into the memory currently available, keeping a fifth of it free.
+     */
+    static int affordableBrowsers() {
+        long perBrowser = PEAK_RSS_BYTES.get() > 0 ? PEAK_RSS_BYTES.get()
+                : Settings.integer("session.browserMb", 350) * 1024L * 1024L;
+        return (int) Math.min(Integer.MAX_VALUE, availableMemoryBytes() * 4 / 5 / perBrowser);
+    }
+
+    private static long availableMemoryBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/meminfo"))) {
+                if (line.startsWith("MemAvailable:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux; fall back to the JVM's view below
+        }
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getFreeMemorySize();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    static String report() {
+        long starts = STARTS.get();
+        long peak = PEAK_RSS_BYTES.get();
+        return String.format("BrowserProfile %s: %d browser start(s), startup avg %d ms (max %d ms), peak memory %s",
+                BrowserProfile.current().displayName(), starts,
+                starts == 0 ? 0 : STARTUP_NANOS.get() / starts / 1_000_000, MAX_STARTUP_NANOS.get() / 1_000_000,
+                peak == 0 ? "n/a" : (peak / (1024 * 1024)) + " MB RSS per browser");
+    }
+
+    /**
+     * Resident memory of the Chrome process tree behind {@code driver}, if it can be determined.
+     */
+    static Optional<Long> rssBytes(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities withCapabilities) || !Files.isDirectory(Path.of("/proc"))) {
+            return Optional.empty();
+        }
+        Object chrome = withCapabilities.getCapabilities().getCapability("chrome");
+        if (!(chrome instanceof Map<?, ?> details) || details.get("userDataDir") == null) {
+            return Optional.empty();
+        }
+        Optional<ProcessHandle> browser = browser("--user-data-dir=" + details.get("userDataDir"));
+        if (browser.isEmpty()) {
+            return Optional.empty();
+        }
+        long total = rssOf(browser.get().pid());
+        for (ProcessHandle process : browser.get().descendants().toList()) {
+            total += rssOf(process.pid());
+        }
+        return total == 0 ? Optional.empty() : Optional.of(total);
+    }
+
+    /**
+     * The Chrome browser process started with {@code marker}; renderers and helpers carry no such flag.
+     */
+    private static Optional<ProcessHandle> browser(String marker) {
+        ProcessHandle known = BROWSERS.get(marker);
+        if (known != null && known.isAlive()) {
+            return Optional.of(known);
+        }
+        BROWSERS.values().removeIf(p -> !p.isAlive());
+        Optional<ProcessHandle> found = ProcessHandle.current().descendants()
+                .filter(p -> p.info().arguments().map(args -> List.of(args).contains(marker)).orElse(false))
+                .findFirst();
+        found.ifPresent(p -> BROWSERS.put(marker, p));
+        return found;
+    }
+
+    private static long rssOf(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    // e.g. "VmRSS:    123456 kB"
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // The process exited while we were looking
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,84 @@
+package edu.shared.session;
+
+import edu.shared.Settings;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The Chrome configurations the suites can run with, chosen with {@code -Dbrowser.profile}
+ * (or {@code mvn test -Plean}).
+ * <ul>
+ *   <li>{@code standard} (default): a visible, maximized window, as the suites always used.</li>
+ *   <li>{@code lean}: headless, fixed 1920x1080 window, no extensions, sync, background networking or
+ *   component updates, and at most two renderer processes. Meant for CI and for large parallel runs.</li>
+ * </ul>
+ * Both load pages with the {@code eager} strategy: {@code driver.get} returns once the document is
+ * parsed, without waiting for images and other subresources, and the page objects wait for what
+ * their page needs. {@code -Dpage.loadStrategy=normal|eager|none} and
+ * {@code -Dpage.loadTimeoutSeconds} (default 30) change this for every session.
+ */
+public enum BrowserProfile {
+
+    STANDARD(List.of(
+            "--start-maximized",
+            "--disable-notifications")),
+
+    LEAN(List.of(
+            "--headless=new",
+            "--window-size=1920,1080",
+            "--disable-notifications",
+            "--disable-extensions",
+            "--disable-sync",
+            "--disable-background-networking",
+            "--disable-component-update",
+            "--disable-default-apps",
+            "--no-first-run",
+            "--mute-audio",
+            "--disable-gpu",
+            "--renderer-process-limit=2"));
+
+    private final List<String> arguments;
+
+    BrowserProfile(List<String> arguments) {
+        this.arguments = arguments;
+    }
+
+    /**
+     * The profile named by {@code browser.profile}; an unknown name fails rather than running another.
+     */
+    public static BrowserProfile current() {
+        return Settings.option("browser.profile", STANDARD);
+    }
+
+    public ChromeOptions options() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments(arguments);
+        options.setPageLoadStrategy(pageLoadStrategy());
+        options.setPageLoadTimeout(Duration.ofSeconds(Settings.integer("page.loadTimeoutSeconds", 30)));
+        return options;
+    }
+
+    /**
+     * Options for a session attached to an already running browser at {@code debuggerAddress}; the
+     * browser arguments were applied when that browser started.
+     */
+    public ChromeOptions attachOptions(String debuggerAddress) {
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        options.setPageLoadStrategy(pageLoadStrategy());
+        options.setPageLoadTimeout(Duration.ofSeconds(Settings.integer("page.loadTimeoutSeconds", 30)));
+        return options;
+    }
+
+    private static PageLoadStrategy pageLoadStrategy() {
+        return Settings.option("page.loadStrategy", PageLoadStrategy.EAGER);
+    }
+
+    public String displayName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,278 @@
+package edu.shared.session;
+
+import edu.shared.Settings;
+import edu.shared.metrics.CommandTimer;
+import edu.shared.metrics.Timeline;
+import edu.shared.proxy.RecordReplay;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Sessions that share one Chrome process, each in its own browser context.
+ * <p>
+ * With {@code -Dsession.mode=contexts} the pool no longer starts a Chrome per session. One host Chrome
+ * is started with the current {@link BrowserProfile}. Every session is then a chromedriver attached to
+ * it through its DevTools address, working in a window of its own browser context
+ * ({@code Target.createBrowserContext}). Contexts share nothing: cookies, storage, cache and service
+ * workers are per context, as in an incognito window. A session costs one context's renderer instead of a
+ * whole browser, and starts in a fraction of the time.
+ * <p>
+ * Every attached chromedriver lists all windows of the shared browser, so sessions are pinned to their
+ * own: {@code getWindowHandles()} returns only the windows of the session's browser contexts (its own
+ * plus those it created, e.g. an {@link IsolatedContext}), and switching to any other window fails with
+ * {@link NoSuchWindowException}. Each of these calls costs one extra DevTools round trip.
+ * <p>
+ * Resetting a session for reuse replaces its context with a new one. Quitting it disposes the context
+ * and leaves the host running until the pool shuts down. The default {@code processes} mode keeps one
+ * Chrome per session; so does record/replay, whose interceptor only sees the window it was attached to.
+ */
+final class ContextSessions {
+
+    /** Values of {@code session.mode}. */
+    enum Mode { PROCESSES, CONTEXTS }
+
+    private static final boolean ENABLED = contextsRequested();
+
+    private static final Map<WebDriver, Context> CONTEXTS = new IdentityHashMap<>();
+
+    private static ChromeDriver host;
+    private static String hostWindow;
+    private static String debuggerAddress;
+    private static Dimension windowSize;
+
+    private ContextSessions() {
+    }
+
+    /**
+     * The browser context a session currently works in, plus the chromedriver behind it.
+     */
+    private static final class Context {
+        private final ChromeDriver attached;
+        /** Contexts the session created itself through DevTools. */
+        private final Set<String> created = ConcurrentHashMap.newKeySet();
+        private String contextId;
+        private String targetId;
+
+        private Context(ChromeDriver attached, String contextId, String targetId) {
+            this.attached = attached;
+            this.contextId = contextId;
+            this.targetId = targetId;
+        }
+
+        private boolean owns(Object browserContextId) {
+            return contextId.equals(browserContextId) || created.contains(browserContextId);
+        }
+    }
+
+    /**
+     * Limits what the session sees of the shared browser to the windows of its own contexts.
+     */
+    private static final class Pinned extends WebDriverDecorator<WebDriver> {
+        private final Context context;
+
+        private Pinned(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            Object original = target.getOriginal();
+            if (original instanceof WebDriver && method.getName().equals("getWindowHandles")) {
+                return windowsOf(context);
+            }
+            if (original instanceof WebDriver.TargetLocator && method.getName().equals("window")
+                    && !windowsOf(context).contains(String.valueOf(args[0]))) {
+                throw new NoSuchWindowException(args[0] + " is not a window of this session; "
+                        + "with session.mode=contexts other sessions' windows are off limits");
+            }
+            Object result = super.call(target, method, args);
+            if (original instanceof HasCdp && method.getName().equals("executeCdpCommand")) {
+                if ("Target.createBrowserContext".equals(args[0])) {
+                    context.created.add(String.valueOf(((Map<String, Object>) result).get("browserContextId")));
+                } else if ("Target.disposeBrowserContext".equals(args[0])) {
+                    context.created.remove(String.valueOf(((Map<String, Object>) args[1]).get("browserContextId")));
+                }
+            }
+            return result;
+        }
+    }
+
+    static boolean enabled() {
+        return ENABLED;
+    }
+
+    private static boolean contextsRequested() {
+        if (Settings.option("session.mode", Mode.PROCESSES) != Mode.CONTEXTS) {
+            return false;
+        }
+        if (RecordReplay.mode() != RecordReplay.Mode.OFF) {
+            System.out.println("ContextSessions: record/replay needs a browser per session; using processes");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Attaches a new session to the shared browser, in a fresh context.
+     */
+    static WebDriver start() {
+        String address = hostAddress();
+        long start = System.nanoTime();
+        ChromeDriver attached = new ChromeDriver(BrowserProfile.current().attachOptions(address));
+        Context context;
+        try {
+            String[] created = IsolatedContext.create(attached, windowSize);
+            context = new Context(attached, created[0], created[1]);
+            switchInto(attached, context.targetId);
+        } catch (RuntimeException e) {
+            attached.quit();
+            throw e;
+        }
+        BrowserFootprint.started(System.nanoTime() - start);
+        WebDriver driver = CommandTimer.decorate(new Pinned(context).decorate(attached));
+        synchronized (ContextSessions.class) {
+            CONTEXTS.put(driver, context);
+        }
+        return driver;
+    }
+
+    static synchronized boolean owns(WebDriver driver) {
+        return CONTEXTS.containsKey(driver);
+    }
+
+    static synchronized int live() {
+        return CONTEXTS.size();
+    }
+
+    static synchronized Optional<WebDriver> host() {
+        return Optional.ofNullable(host);
+    }
+
+    /**
+     * Gives the session a clean context: the new one is opened first, then the old one is disposed.
+     */
+    static boolean reset(WebDriver driver) {
+        Context context;
+        synchronized (ContextSessions.class) {
+            context = CONTEXTS.get(driver);
+        }
+        try {
+            String[] created = IsolatedContext.create(context.attached, windowSize);
+            String oldContext = context.contextId;
+            String oldTarget = context.targetId;
+            context.contextId = created[0];
+            context.targetId = created[1];
+            context.created.clear();
+            switchInto(context.attached, context.targetId);
+            IsolatedContext.dispose(context.attached, oldContext, oldTarget);
+            return "about:blank".equals(context.attached.getCurrentUrl());
+        } catch (RuntimeException e) {
+            System.err.println("ContextSessions: context reset failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Disposes the session's context and detaches its chromedriver; the shared browser keeps running.
+     */
+    static void quit(WebDriver driver) {
+        Context context;
+        synchronized (ContextSessions.class) {
+            context = CONTEXTS.remove(driver);
+        }
+        try {
+            // Dispose from the host's window, not from inside the context being disposed
+            context.attached.switchTo().window(hostWindow);
+            IsolatedContext.dispose(context.attached, context.contextId, context.targetId);
+        } catch (RuntimeException e) {
+            System.err.println("ContextSessions: could not dispose context: " + e.getMessage());
+        } finally {
+            context.attached.quit();
+        }
+    }
+
+    /**
+     * Quits the shared browser; called by the pool after its sessions are gone.
+     */
+    static synchronized void shutdown() {
+        if (host != null) {
+            try {
+                host.quit();
+            } catch (RuntimeException e) {
+                System.err.println("ContextSessions: quit failed: " + e.getMessage());
+            }
+            host = null;
+        }
+    }
+
+    private static synchronized String hostAddress() {
+        if (host != null) {
+            try {
+                host.getWindowHandle();
+                return debuggerAddress;
+            } catch (RuntimeException e) {
+                System.err.println("ContextSessions: shared browser is gone, starting a new one: " + e.getMessage());
+                host = null;
+            }
+        }
+        DriverBinaries.resolve();
+        long start = System.nanoTime();
+        host = new ChromeDriver(BrowserProfile.current().options());
+        Timeline.span("shared browser start", "session", start);
+        hostWindow = host.getWindowHandle();
+        windowSize = host.manage().window().getSize();
+        Object chromeOptions = host.getCapabilities().getCapability("goog:chromeOptions");
+        if (!(chromeOptions instanceof Map<?, ?> details) || details.get("debuggerAddress") == null) {
+            host.quit();
+            host = null;
+            throw new IllegalStateException("chromedriver did not report a DevTools address for the shared browser");
+        }
+        debuggerAddress = String.valueOf(details.get("debuggerAddress"));
+        System.out.println("ContextSessions: shared browser at " + debuggerAddress);
+        return debuggerAddress;
+    }
+
+    /**
+     * The handles of the windows in the session's own browser contexts.
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<String> windowsOf(Context context) {
+        List<Map<String, Object>> targets = (List<Map<String, Object>>) context.attached
+                .executeCdpCommand("Target.getTargets", Map.of()).get("targetInfos");
+        Set<String> ids = targets.stream()
+                .filter(t -> "page".equals(t.get("type")) && context.owns(t.get("browserContextId")))
+                .map(t -> String.valueOf(t.get("targetId")))
+                .collect(Collectors.toSet());
+        Set<String> handles = new LinkedHashSet<>();
+        for (String handle : context.attached.getWindowHandles()) {
+            if (ids.stream().anyMatch(id -> handle.equalsIgnoreCase(id) || handle.endsWith(id))) {
+                handles.add(handle);
+            }
+        }
+        return handles;
+    }
+
+    private static void switchInto(WebDriver driver, String targetId) {
+        String handle = IsolatedContext.handleOf(driver, targetId);
+        if (handle == null) {
+            throw new IllegalStateException("chromedriver does not list the window of the new browser context");
+        }
+        driver.switchTo().window(handle);
+    }
+}
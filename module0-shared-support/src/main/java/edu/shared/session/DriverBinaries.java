@@ -0,0 +1,143 @@
+package edu.shared.session;
+
+import edu.shared.Settings;
+import edu.shared.metrics.Timeline;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Resolves the chromedriver binary once per JVM, before the first browser starts.
+ * <p>
+ * Resolution used to run in every test class ({@code WebDriverManager.chromedriver().setup()}),
+ * detecting the Chrome version and possibly querying the driver repository each time. Now the first
+ * {@link SessionPool} start resolves it, and the browser and driver paths are kept in a small metadata
+ * cache ({@code drivers.cache}, default {@code ~/.cache/this-is-only-a-test/chromedriver.properties}).
+ * The next run reuses them without running WebDriverManager at all, as long as the driver file still
+ * exists and the Chrome binary has not changed (size and modification time).
+ * <p>
+ * With {@code -Ddrivers.offline=true} a cache miss resolves from WebDriverManager's local driver cache
+ * without any network access. An explicit {@code -Dwebdriver.chrome.driver} always wins. The time spent
+ * is printed and recorded on the {@link Timeline}, so cold-start cost stays visible.
+ */
+public final class DriverBinaries {
+
+    private static final String DRIVER_PROPERTY = "webdriver.chrome.driver";
+
+    private static Resolution resolution;
+
+    private DriverBinaries() {
+    }
+
+    public record Resolution(String driverPath, String driverVersion, String browserPath, String source,
+                             long millis) {
+    }
+
+    /**
+     * Resolves the driver on first use and returns the same result afterwards.
+     */
+    public static synchronized Resolution resolve() {
+        if (resolution == null) {
+            long start = System.nanoTime();
+            Resolution resolved = lookup();
+            long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            resolution = new Resolution(resolved.driverPath(), resolved.driverVersion(), resolved.browserPath(),
+                    resolved.source(), millis);
+            Timeline.span("driver resolution", "session", start);
+            System.out.println("DriverBinaries: chromedriver " + resolution.driverVersion() + " at "
+                    + resolution.driverPath() + " (" + resolution.source() + ", " + millis + " ms)");
+        }
+        return resolution;
+    }
+
+    private static Resolution lookup() {
+        String preset = System.getProperty(DRIVER_PROPERTY);
+        if (preset != null && Files.isExecutable(Path.of(preset))) {
+            return new Resolution(preset, "?", null, "-D" + DRIVER_PROPERTY, 0);
+        }
+        Path cacheFile = cacheFile();
+        Resolution cached = readCache(cacheFile);
+        if (cached != null) {
+            System.setProperty(DRIVER_PROPERTY, cached.driverPath());
+            return cached;
+        }
+
+        boolean offline = Settings.flag("drivers.offline", false);
+        WebDriverManager wdm = WebDriverManager.chromedriver();
+        if (offline) {
+            wdm.avoidExternalConnections();
+        }
+        try {
+            wdm.setup();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Could not resolve chromedriver" + (offline
+                    ? " offline; run once online to populate the driver cache" : ""), e);
+        }
+        Resolution resolved = new Resolution(wdm.getDownloadedDriverPath(), wdm.getDownloadedDriverVersion(),
+                wdm.getBrowserPath().map(Path::toString).orElse(null),
+                offline ? "WebDriverManager, offline" : "WebDriverManager", 0);
+        writeCache(cacheFile, resolved);
+        return resolved;
+    }
+
+    private static Path cacheFile() {
+        String configured = Settings.string("drivers.cache", null);
+        return configured != null ? Path.of(configured)
+                : Path.of(System.getProperty("user.home"), ".cache", "this-is-only-a-test", "chromedriver.properties");
+    }
+
+    private static Resolution readCache(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties p = new Properties();
+        try (Reader in = Files.newBufferedReader(file)) {
+            p.load(in);
+            String driver = p.getProperty("driver.path");
+            if (driver == null || !Files.isExecutable(Path.of(driver))) {
+                return null;
+            }
+            String browser = p.getProperty("browser.path");
+            if (browser != null && !browserFingerprint(Path.of(browser)).equals(p.getProperty("browser.fingerprint"))) {
+                // Chrome was updated since the driver was resolved
+                return null;
+            }
+            return new Resolution(driver, p.getProperty("driver.version"), browser, "metadata cache", 0);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("DriverBinaries: ignoring unreadable cache " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeCache(Path file, Resolution resolved) {
+        Properties p = new Properties();
+        p.setProperty("driver.path", resolved.driverPath());
+        p.setProperty("driver.version", String.valueOf(resolved.driverVersion()));
+        if (resolved.browserPath() != null) {
+            p.setProperty("browser.path", resolved.browserPath());
+            p.setProperty("browser.fingerprint", browserFingerprint(Path.of(resolved.browserPath())));
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer out = Files.newBufferedWriter(file)) {
+                p.store(out, "chromedriver resolved by edu.shared.session.DriverBinaries");
+            }
+        } catch (IOException e) {
+            System.err.println("DriverBinaries: could not write cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String browserFingerprint(Path browser) {
+        try {
+            return Files.size(browser) + "@" + Files.getLastModifiedTime(browser).toMillis();
+        } catch (IOException e) {
+            return "missing";
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package edu.shared.session;
+
+import edu.shared.Settings;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Logs a user in through the UI once per JVM and restores the saved login into later sessions.
+ * <p>
+ * A snapshot holds every browser cookie (through CDP, so the {@code login.wikimedia.org} SSO cookies
+ * come along) plus the landing page's local and session storage. {@link #restore} replays it into a
+ * fresh pooled session in a few milliseconds and then verifies the login on the landing page. A
+ * snapshot whose cookies have expired, that is older than {@code login.maxAgeMinutes} (default 30),
+ * or that the site no longer accepts is dropped and refreshed with one more UI login.
+ * <p>
+ * Only tests that verify the login form itself should go through the form; everything else that
+ * merely needs a logged-in user calls {@link #restore}.
+ */
+public final class LoginState {
+
+    private static final LoginState SHARED =
+            new LoginState(Duration.ofMinutes(Settings.integer("login.maxAgeMinutes", 30)));
+
+    private static final String READ_STORAGE = """
+            const dump = s => Object.fromEntries(Object.keys(s).map(k => [k, s.getItem(k)]));
+            try { return {local: dump(window.localStorage), session: dump(window.sessionStorage)}; }
+            catch (e) { return {local: {}, session: {}}; }""";
+
+    private static final String WRITE_STORAGE = """
+            try {
+              for (const [k, v] of Object.entries(arguments[0])) window.localStorage.setItem(k, v);
+              for (const [k, v] of Object.entries(arguments[1])) window.sessionStorage.setItem(k, v);
+            } catch (e) {}""";
+
+    // Fields accepted by Network.setCookies; getAllCookies returns a few more
+    private static final Set<String> COOKIE_PARAMS =
+            Set.of("name", "value", "domain", "path", "secure", "httpOnly", "sameSite", "expires");
+
+    private final Duration maxAge;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Object> loginLocks = new ConcurrentHashMap<>();
+
+    private int logins;
+    private int restores;
+
+    public LoginState(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public static LoginState shared() {
+        return SHARED;
+    }
+
+    /**
+     * Leaves {@code driver} logged in as {@code user} on {@code landingUrl}.
+     *
+     * @param uiLogin    drives the login form and waits until it has completed; only run when no
+     *                   usable snapshot exists
+     * @param isLoggedIn checks the currently loaded page for the logged-in state
+     */
+    public void restore(WebDriver driver, String landingUrl, String user, Consumer<WebDriver> uiLogin,
+                        Predicate<WebDriver> isLoggedIn) {
+        String key = user + "@" + landingUrl;
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && !snapshot.isStale(maxAge)) {
+            long start = System.nanoTime();
+            apply(driver, landingUrl, snapshot);
+            if (isLoggedIn.test(driver)) {
+                synchronized (this) {
+                    restores++;
+                }
+                System.out.println("LoginState: restored " + user + " in "
+                        + Duration.ofNanos(System.nanoTime() - start).toMillis() + " ms");
+                return;
+            }
+            System.out.println("LoginState: saved login for " + user + " was rejected, logging in again");
+            snapshots.remove(key, snapshot);
+        }
+        // One UI login per user at a time; parallel callers reuse its snapshot
+        synchronized (loginLocks.computeIfAbsent(key, k -> new Object())) {
+            Snapshot fresh = snapshots.get(key);
+            if (fresh != null && fresh != snapshot && !fresh.isStale(maxAge)) {
+                apply(driver, landingUrl, fresh);
+                if (isLoggedIn.test(driver)) {
+                    return;
+                }
+            }
+            uiLogin.accept(driver);
+            driver.get(landingUrl);
+            if (!isLoggedIn.test(driver)) {
+                throw new IllegalStateException("Login as " + user + " did not succeed");
+            }
+            synchronized (this) {
+                logins++;
+            }
+            snapshots.put(key, capture(driver));
+        }
+    }
+
+    /**
+     * Saves the login of a session that has just gone through the form, so later {@link #restore}
+     * calls skip it. Storage is read from the current page, which should share {@code landingUrl}'s origin.
+     */
+    public void remember(WebDriver driver, String landingUrl, String user) {
+        snapshots.put(user + "@" + landingUrl, capture(driver));
+    }
+
+    public void forget(String landingUrl, String user) {
+        snapshots.remove(user + "@" + landingUrl);
+    }
+
+    public synchronized String stats() {
+        return "uiLogins=" + logins + ", restores=" + restores + ", cached=" + snapshots.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Snapshot capture(WebDriver driver) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        if (driver instanceof HasCdp cdp) {
+            Object all = cdp.executeCdpCommand("Network.getAllCookies", Map.of()).get("cookies");
+            for (Map<String, Object> cookie : (List<Map<String, Object>>) all) {
+                Map<String, Object> param = new LinkedHashMap<>(cookie);
+                param.keySet().retainAll(COOKIE_PARAMS);
+                if (Boolean.TRUE.equals(cookie.get("session"))) {
+                    param.remove("expires");
+                }
+                cookies.add(param);
+            }
+        } else {
+            for (Cookie cookie : driver.manage().getCookies()) {
+                Map<String, Object> param = new LinkedHashMap<>(cookie.toJson());
+                if (cookie.getExpiry() != null) {
+                    param.put("expires", cookie.getExpiry().getTime() / 1000.0);
+                }
+                cookies.add(param);
+            }
+        }
+        Map<String, Map<String, String>> storage =
+                (Map<String, Map<String, String>>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE);
+        return new Snapshot(cookies, storage.get("local"), storage.get("session"), Instant.now());
+    }
+
+    private static void apply(WebDriver driver, String landingUrl, Snapshot snapshot) {
+        if (driver instanceof HasCdp cdp) {
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", snapshot.cookies()));
+            driver.get(landingUrl);
+        } else {
+            // WebDriver can only set cookies for the current document's domain
+            driver.get(landingUrl);
+            for (Map<String, Object> c : snapshot.cookies()) {
+                Cookie.Builder cookie = new Cookie.Builder((String) c.get("name"), (String) c.get("value"))
+                        .path((String) c.get("path"))
+                        .isSecure(Boolean.TRUE.equals(c.get("secure")))
+                        .isHttpOnly(Boolean.TRUE.equals(c.get("httpOnly")));
+                if (c.get("expires") instanceof Number expires) {
+                    cookie.expiresOn(new Date((long) (expires.doubleValue() * 1000)));
+                }
+                try {
+                    driver.manage().addCookie(cookie.build());
+                } catch (RuntimeException e) {
+                    // Cookie for another domain; only reachable through CDP
+                }
+            }
+            driver.navigate().refresh();
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE, snapshot.local(), snapshot.session());
+    }
+
+    private record Snapshot(List<Map<String, Object>> cookies, Map<String, String> local,
+                            Map<String, String> session, Instant created) {
+
+        boolean isStale(Duration maxAge) {
+            if (Duration.between(created, Instant.now()).compareTo(maxAge) > 0) {
+                return true;
+            }
+            double now = Instant.now().getEpochSecond();
+            for (Map<String, Object> cookie : cookies) {
+                if (cookie.get("expires") instanceof Number expires && expires.doubleValue() > 0
+                        && expires.doubleValue() < now) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package edu.shared.session;
+
+import edu.shared.Settings;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.UUID;
+
+/**
+ * Page loads for the current thread's session that are skipped when the session is already there.
+ * <p>
+ * Every page {@linkplain #go(WebDriver, String) loaded} through the navigator is tagged with a token
+ * in the page's {@code window}, together with a flag that the page sets itself on the first click, key,
+ * input, submit or scroll. Loading the same URL again costs one script call instead of a page load when
+ * the token is still there (same window, same document) and nothing has touched the page since. Any
+ * navigation, another tab or another session's document lacks the token, so those load as usual.
+ * <p>
+ * A test class can also {@linkplain #defer(WebDriver, String) defer} its start page: it is loaded only if the test
+ * reads the session through {@link #settle(WebDriver)} before loading a page of its own. Set
+ * {@code nav.reuse=false} to load every page as requested.
+ */
+public final class Navigator {
+
+    private static final boolean ENABLED = Settings.flag("nav.reuse", true);
+
+    private static final String TAG = """
+            var nav = window.__navigator = {token: arguments[0], changed: false};
+            ['pointerdown', 'click', 'keydown', 'input', 'change', 'submit', 'scroll', 'wheel', 'touchstart']
+                .forEach(function (type) {
+                    window.addEventListener(type, function () { nav.changed = true; }, {capture: true, passive: true});
+                });
+            return location.href;""";
+
+    private static final String UNTOUCHED = """
+            var nav = window.__navigator;
+            return nav && nav.token === arguments[0] && !nav.changed ? location.href : null;""";
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private Navigator() {
+    }
+
+    /**
+     * What the navigator last loaded in the thread's session, and the start page still owed to it.
+     */
+    private static final class State {
+        private WebDriver driver;
+        private String url;
+        private String landed;
+        private String token;
+        private String pending;
+    }
+
+    /**
+     * Loads {@code url} unless the session is on it and the page is untouched; {@code false} if it skipped.
+     */
+    public static boolean go(WebDriver driver, String url) {
+        State state = state(driver);
+        state.pending = null;
+        if (ENABLED && url.equals(state.url) && untouched(driver, state)) {
+            System.out.println("Navigator: already on " + url + ", not reloading");
+            return false;
+        }
+        load(driver, state, url);
+        return true;
+    }
+
+    /**
+     * Notes {@code url} as the page the session should start on, without loading it yet.
+     */
+    public static void defer(WebDriver driver, String url) {
+        if (!ENABLED) {
+            go(driver, url);
+            return;
+        }
+        state(driver).pending = url;
+    }
+
+    /**
+     * Loads the deferred start page, if one is still owed, and returns {@code driver}.
+     */
+    public static WebDriver settle(WebDriver driver) {
+        State state = STATE.get();
+        if (state != null && state.driver == driver && state.pending != null) {
+            String url = state.pending;
+            state.pending = null;
+            System.out.println("Navigator: loading deferred start page " + url);
+            load(driver, state, url);
+        }
+        return driver;
+    }
+
+    /**
+     * Forgets the thread's session; called when it goes back to the pool.
+     */
+    static void forget() {
+        STATE.remove();
+    }
+
+    private static State state(WebDriver driver) {
+        State state = STATE.get();
+        if (state == null || state.driver != driver) {
+            state = new State();
+            state.driver = driver;
+            STATE.set(state);
+        }
+        return state;
+    }
+
+    private static void load(WebDriver driver, State state, String url) {
+        state.url = null;
+        driver.get(url);
+        if (!ENABLED || !(driver instanceof JavascriptExecutor js)) {
+            return;
+        }
+        try {
+            String token = UUID.randomUUID().toString();
+            state.landed = (String) js.executeScript(TAG, token);
+            state.token = token;
+            state.url = url;
+        } catch (RuntimeException e) {
+            // Not taggable (e.g. an error page); it simply loads again next time
+        }
+    }
+
+    private static boolean untouched(WebDriver driver, State state) {
+        try {
+            Object href = ((JavascriptExecutor) driver).executeScript(UNTOUCHED, state.token);
+            return state.landed != null && state.landed.equals(href);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
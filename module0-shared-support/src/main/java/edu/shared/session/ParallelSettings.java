@@ -0,0 +1,35 @@
+package edu.shared.session;
+
+import edu.shared.Settings;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Applies the parallelism settings from the command line to every suite before it runs, so the
+ * module {@code testng.xml} files do not have to be edited per machine. The thread count and
+ * data-provider thread count are always set from {@code test.threads}, so the suite files leave them out:
+ * <pre>
+ *   mvn test -Dtest.threads=8                 # worker threads (default: available cores)
+ *   mvn test -Dtest.parallel=none             # methods | classes | tests | none
+ * </pre>
+ * Tests that share state declare {@code parallel="none"} on their {@code <test>} element, which
+ * still wins over the suite setting.
+ */
+public class ParallelSettings implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = Settings.threads();
+        String parallel = Settings.string("test.parallel", null);
+        for (XmlSuite suite : suites) {
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(threads);
+            if (parallel != null) {
+                suite.setParallel(XmlSuite.ParallelMode.getValidParallel(parallel));
+            }
+            alter(suite.getChildSuites());
+        }
+    }
+}
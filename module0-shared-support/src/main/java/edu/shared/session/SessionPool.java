@@ -0,0 +1,391 @@
+package edu.shared.session;
+
+import edu.shared.Settings;
+import edu.shared.metrics.CommandTimer;
+import edu.shared.metrics.Timeline;
+import edu.shared.proxy.RecordReplay;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Pool of warm browser sessions shared by every test class in the JVM.
+ * <p>
+ * Tests {@link #lease()} a session instead of starting Chrome and {@link #release(WebDriver)} it
+ * instead of quitting. A released session is health-checked and reset (cookies, storage, extra
+ * windows) before it is handed out again; sessions that fail the check, have been used too often
+ * or are older than the configured age are quit and replaced.
+ * <p>
+ * Sessions are started with the {@link BrowserProfile} selected by {@code browser.profile}, using the
+ * chromedriver found by {@link DriverBinaries}; with {@code session.mode=contexts} they are browser
+ * contexts in one shared Chrome instead (see {@link ContextSessions}).
+ * {@link #prewarm(int)} starts spare sessions in the background ahead of demand; a lease that finds no
+ * idle session while spares are starting waits for the first one rather than starting its own.
+ * Tuning: {@code session.poolSize} (idle sessions kept, default one per worker thread), {@code session.maxUses}
+ * (default 25) and {@code session.maxAgeMinutes} (default 15).
+ */
+public final class SessionPool {
+
+    private static final SessionPool SHARED = new SessionPool(
+            SessionPool::startChrome,
+            Settings.integer("session.poolSize", Settings.threads()),
+            Settings.integer("session.maxUses", 25),
+            Duration.ofMinutes(Settings.integer("session.maxAgeMinutes", 15)));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SHARED::shutdown, "session-pool-shutdown"));
+    }
+
+    private final Supplier<WebDriver> factory;
+    private final int maxIdle;
+    private final int maxUses;
+    private final Duration maxAge;
+
+    private final Deque<PooledSession> idle = new ArrayDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new IdentityHashMap<>();
+
+    private ExecutorService warmer;
+    private int pending;
+
+    private int started;
+    private int reused;
+    private int evicted;
+    private int prewarmed;
+
+    public SessionPool(Supplier<WebDriver> factory, int maxIdle, int maxUses, Duration maxAge) {
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+        this.maxUses = maxUses;
+        this.maxAge = maxAge;
+    }
+
+    public static SessionPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Hands out a warm idle session, or starts a new one when none is available.
+     */
+    public WebDriver lease() {
+        PooledSession session = null;
+        List<PooledSession> wornOut = new ArrayList<>();
+        synchronized (this) {
+            while (true) {
+                session = nextUsableIdle(wornOut);
+                if (session != null) {
+                    reused++;
+                    session.uses++;
+                    leased.put(session.driver, session);
+                    break;
+                }
+                if (pending == 0) {
+                    break;
+                }
+                // A spare is already starting; it is ready sooner than a cold start of our own
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        // Quit outside the lock, like shutdown(): other leases and releases must not wait for Chrome to exit
+        wornOut.forEach(this::discard);
+        if (session != null) {
+            return session.driver;
+        }
+
+        // Start outside the lock so parallel workers do not queue behind one cold start
+        long start = System.nanoTime();
+        session = new PooledSession(factory.get());
+        Timeline.span("session start", "session", start);
+        session.uses++;
+        synchronized (this) {
+            started++;
+            leased.put(session.driver, session);
+        }
+        return session.driver;
+    }
+
+    /**
+     * Starts spare sessions in the background until {@code wanted} sessions exist (idle, leased or
+     * starting), as far as the pool size and the machine's free memory allow.
+     */
+    public void prewarm(int wanted) {
+        int spares;
+        synchronized (this) {
+            int existing = idle.size() + leased.size() + pending;
+            spares = Math.min(wanted - existing, maxIdle - idle.size() - pending);
+            spares = Math.min(spares, BrowserFootprint.affordableBrowsers() - pending);
+            if (spares <= 0) {
+                return;
+            }
+            if (warmer == null) {
+                warmer = Executors.newCachedThreadPool(task -> {
+                    Thread thread = new Thread(task, "session-prewarm");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            pending += spares;
+        }
+        for (int i = 0; i < spares; i++) {
+            warmer.execute(this::startSpare);
+        }
+    }
+
+    private void startSpare() {
+        PooledSession spare = null;
+        long start = System.nanoTime();
+        try {
+            spare = new PooledSession(factory.get());
+            Timeline.span("session prewarm", "session", start);
+        } catch (RuntimeException e) {
+            System.err.println("SessionPool: spare session failed to start: " + e.getMessage());
+        }
+        synchronized (this) {
+            pending--;
+            if (spare != null && !warmer.isShutdown()) {
+                started++;
+                prewarmed++;
+                idle.push(spare);
+                spare = null;
+            }
+            notifyAll();
+        }
+        if (spare != null) {
+            // The pool shut down while this spare was starting
+            quitQuietly(spare.driver);
+        }
+    }
+
+    /**
+     * Returns a session to the pool. Broken, worn-out or surplus sessions are quit instead.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledSession session;
+        synchronized (this) {
+            session = leased.remove(driver);
+        }
+        if (session == null) {
+            // Not one of ours; behave like the old tearDown
+            driver.quit();
+            return;
+        }
+        BrowserFootprint.sample(session.driver);
+        if (isWornOut(session) || !resetForReuse(session.driver)) {
+            discard(session);
+            return;
+        }
+        synchronized (this) {
+            if (idle.size() < maxIdle) {
+                idle.push(session);
+                return;
+            }
+        }
+        discard(session);
+    }
+
+    /**
+     * Quits a leased session without returning it, e.g. after a test left the browser unusable.
+     */
+    public void evict(WebDriver driver) {
+        PooledSession session;
+        synchronized (this) {
+            session = leased.remove(driver);
+        }
+        discard(session != null ? session : new PooledSession(driver));
+    }
+
+    public synchronized String stats() {
+        return "started=" + started + " (prewarmed=" + prewarmed + "), reused=" + reused + ", evicted=" + evicted
+                + ", idle=" + idle.size() + ", leased=" + leased.size();
+    }
+
+    public void shutdown() {
+        Deque<PooledSession> toQuit = new ArrayDeque<>();
+        synchronized (this) {
+            if (warmer != null) {
+                warmer.shutdownNow();
+            }
+            toQuit.addAll(idle);
+            toQuit.addAll(leased.values());
+            idle.clear();
+            leased.clear();
+        }
+        for (PooledSession session : toQuit) {
+            quitQuietly(session.driver);
+        }
+        ContextSessions.shutdown();
+        System.out.println("SessionPool: shut down (" + stats() + ")");
+    }
+
+    /**
+     * The first idle session still fit for use; worn-out ones are moved to {@code wornOut} for the caller to quit.
+     */
+    private PooledSession nextUsableIdle(List<PooledSession> wornOut) {
+        while (!idle.isEmpty()) {
+            PooledSession candidate = idle.pop();
+            if (!isWornOut(candidate)) {
+                return candidate;
+            }
+            wornOut.add(candidate);
+        }
+        return null;
+    }
+
+    private boolean isWornOut(PooledSession session) {
+        return session.uses >= maxUses
+                || Duration.between(session.created, Instant.now()).compareTo(maxAge) > 0;
+    }
+
+    /**
+     * Health check plus reset: the session must answer, keep one window, and come back clean.
+     */
+    private static boolean resetForReuse(WebDriver driver) {
+        if (ContextSessions.owns(driver)) {
+            return ContextSessions.reset(driver);
+        }
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            if (handles.isEmpty()) {
+                return false;
+            }
+            Set<String> origins = new LinkedHashSet<>();
+            for (String handle : handles) {
+                driver.switchTo().window(handle);
+                visitedOrigins(driver, origins);
+            }
+            // A fresh tab drops the old tabs' session storage and history for every origin. Record/replay
+            // intercepts the session's first window only, so that one is kept instead.
+            String keep = RecordReplay.mode() == RecordReplay.Mode.OFF
+                    ? driver.switchTo().newWindow(WindowType.TAB).getWindowHandle()
+                    : handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(keep)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(keep);
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            if (driver instanceof HasCdp cdp) {
+                // Storage of every origin the test reached, not just the one the window ended on
+                for (String origin : origins) {
+                    cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+                }
+                // Clears every domain, not just the current one (e.g. the login.wikimedia.org SSO cookies)
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return "about:blank".equals(driver.getCurrentUrl());
+        } catch (RuntimeException e) {
+            System.err.println("SessionPool: health check failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Adds the origins of the current window's history and frames, e.g. a login.wikimedia.org redirect
+     * or an es.wikipedia.org article followed from a language link.
+     */
+    @SuppressWarnings("unchecked")
+    private static void visitedOrigins(WebDriver driver, Set<String> origins) {
+        if (!(driver instanceof HasCdp cdp)) {
+            return;
+        }
+        for (Map<String, Object> entry : (List<Map<String, Object>>) cdp.executeCdpCommand(
+                "Page.getNavigationHistory", Map.of()).get("entries")) {
+            addOrigin(String.valueOf(entry.get("url")), origins);
+        }
+        Deque<Map<String, Object>> frames = new ArrayDeque<>();
+        frames.push((Map<String, Object>) cdp.executeCdpCommand("Page.getFrameTree", Map.of()).get("frameTree"));
+        while (!frames.isEmpty()) {
+            Map<String, Object> tree = frames.pop();
+            addOrigin(String.valueOf(((Map<String, Object>) tree.get("frame")).get("url")), origins);
+            Object children = tree.get("childFrames");
+            if (children instanceof List<?> list) {
+                list.forEach(child -> frames.push((Map<String, Object>) child));
+            }
+        }
+    }
+
+    private static void addOrigin(String url, Set<String> origins) {
+        try {
+            URI uri = URI.create(url);
+            if ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) {
+                origins.add(uri.getScheme() + "://" + uri.getRawAuthority());
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a URL we could have stored anything under
+        }
+    }
+
+    private void discard(PooledSession session) {
+        synchronized (this) {
+            evicted++;
+        }
+        quitQuietly(session.driver);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            if (ContextSessions.owns(driver)) {
+                ContextSessions.quit(driver);
+            } else {
+                driver.quit();
+            }
+        } catch (RuntimeException e) {
+            System.err.println("SessionPool: quit failed: " + e.getMessage());
+        } finally {
+            Timeline.span("session quit", "session", start);
+        }
+    }
+
+    private static WebDriver startChrome() {
+        if (ContextSessions.enabled()) {
+            return ContextSessions.start();
+        }
+        DriverBinaries.resolve();
+        long start = System.nanoTime();
+        ChromeDriver driver = new ChromeDriver(BrowserProfile.current().options());
+        BrowserFootprint.started(System.nanoTime() - start);
+        RecordReplay.attach(driver);
+        // Tests see the decorated session, so every command they issue is timed
+        return CommandTimer.decorate(driver);
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final Instant created = Instant.now();
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
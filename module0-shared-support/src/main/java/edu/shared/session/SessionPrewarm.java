@@ -0,0 +1,54 @@
+package edu.shared.session;
+
+import edu.shared.Settings;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps spare browser sessions starting ahead of the test queue, so Chrome startup happens off the
+ * critical path. When a {@code <test>} starts, and again before each test method, the {@link SessionPool}
+ * is asked to hold as many sessions as it can use at once: its worker threads (one if it does not run
+ * in parallel), but never more than the tests still to run or {@code session.spares}. Disable with {@code -Dsession.prewarm=false}.
+ * Registered through {@code META-INF/services/org.testng.ITestNGListener}.
+ */
+public class SessionPrewarm implements ITestListener, IInvokedMethodListener {
+
+    private final AtomicInteger remainingTests = new AtomicInteger();
+    private volatile int workers = 1;
+
+    @Override
+    public void onStart(ITestContext context) {
+        if (!enabled()) {
+            return;
+        }
+        // Per <test>: it may override the suite's parallel mode, as ContentTest's parallel="none" does
+        XmlTest xml = context.getCurrentXmlTest();
+        workers = xml.getParallel() == null || !xml.getParallel().isParallel() ? 1 : xml.getThreadCount();
+        remainingTests.set(context.getAllTestMethods().length);
+        topUp();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (enabled() && method.isTestMethod()) {
+            // Data-driven methods run more often than they are counted; keep at least one worker's worth
+            remainingTests.updateAndGet(n -> Math.max(1, n - 1));
+            topUp();
+        }
+    }
+
+    private void topUp() {
+        int wanted = Math.min(Math.min(workers, remainingTests.get()), Settings.integer("session.spares", workers));
+        SessionPool.shared().prewarm(wanted);
+    }
+
+    private static boolean enabled() {
+        return Settings.flag("session.prewarm", true);
+    }
+}
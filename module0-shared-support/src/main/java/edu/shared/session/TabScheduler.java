@@ -0,0 +1,185 @@
+package edu.shared.session;
+
+import edu.shared.Settings;
+import edu.shared.metrics.Timeline;
+import edu.shared.net.ResourceBlocking;
+import edu.shared.proxy.RecordReplay;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the pages of upcoming read-only checks in background tabs of the same session, so their
+ * network and render work overlaps with the check that is running.
+ * <p>
+ * Checks are {@linkplain #schedule(Method, String) scheduled} with the URL they read. Up to
+ * {@code tabs.ahead} (default 3) tabs load at a time; when a check {@linkplain #enter(String) enters} its
+ * tab the page is usually there already, and {@linkplain #leave() leaving} closes the tab and starts the
+ * next one. WebDriver still drives one tab at a time, so checks must not depend on each other's tabs.
+ * <p>
+ * Tabs open through DevTools ({@code Target.createTarget}, in the session's own browser context) or
+ * {@code window.open} without it. A check with a {@code BlockResources} setting gets its tab blank first;
+ * the block is set in that tab before it loads the page, which costs two window switches. Without
+ * DevTools nothing can be blocked. With record/replay active nothing is scheduled, since only the
+ * session's first window is intercepted; checks then load their page as usual.
+ */
+public final class TabScheduler {
+
+    private static final int AHEAD = Math.max(1, Settings.integer("tabs.ahead", 3));
+
+    private final WebDriver driver;
+    private final String home;
+    private final Deque<Scheduled> queued = new ArrayDeque<>();
+    private final Map<String, String> open = new LinkedHashMap<>();
+
+    private String current;
+
+    public TabScheduler(WebDriver driver) {
+        this.driver = driver;
+        this.home = driver.getWindowHandle();
+    }
+
+    /**
+     * A check waiting for its tab, and what its tab must not load.
+     */
+    private record Scheduled(String name, String url, List<String> blocked) {
+    }
+
+    /**
+     * Queues a background tab that loads {@code url} for the test method {@code check}, blocking what
+     * {@code check}'s {@code BlockResources} setting blocks.
+     */
+    public void schedule(Method check, String url) {
+        if (RecordReplay.mode() != RecordReplay.Mode.OFF) {
+            return;
+        }
+        queued.add(new Scheduled(check.getName(), url, ResourceBlocking.patternsFor(check)));
+        fill();
+    }
+
+    /**
+     * Switches to the tab scheduled for {@code name}; {@code false} if there is none.
+     */
+    public boolean enter(String name) {
+        if (!open.containsKey(name)) {
+            // Still queued behind other tabs: start it now
+            Scheduled waiting = queued.stream()
+                    .filter(e -> e.name().equals(name)).findFirst().orElse(null);
+            if (waiting == null) {
+                return false;
+            }
+            queued.remove(waiting);
+            open.put(name, openTab(waiting));
+        }
+        driver.switchTo().window(open.get(name));
+        current = name;
+        return true;
+    }
+
+    /**
+     * Whether the session is in a scheduled tab.
+     */
+    public boolean inTab() {
+        return current != null;
+    }
+
+    /**
+     * Closes the current tab, returns to the session's own window and starts loading the next tab.
+     */
+    public void leave() {
+        if (current == null) {
+            return;
+        }
+        String handle = open.remove(current);
+        current = null;
+        try {
+            driver.switchTo().window(handle).close();
+        } catch (RuntimeException e) {
+            System.err.println("TabScheduler: could not close tab: " + e.getMessage());
+        } finally {
+            driver.switchTo().window(home);
+        }
+        fill();
+    }
+
+    /**
+     * Drops everything still queued and closes the tabs nobody entered.
+     */
+    public void closeAll() {
+        queued.clear();
+        leave();
+        for (String handle : open.values()) {
+            try {
+                driver.switchTo().window(handle).close();
+            } catch (RuntimeException e) {
+                // Already gone
+            }
+        }
+        open.clear();
+        driver.switchTo().window(home);
+    }
+
+    private void fill() {
+        while (open.size() < AHEAD && !queued.isEmpty()) {
+            Scheduled next = queued.poll();
+            open.put(next.name(), openTab(next));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String openTab(Scheduled check) {
+        long start = System.nanoTime();
+        String url = check.url();
+        String handle;
+        if (driver instanceof HasCdp cdp) {
+            boolean blocking = !check.blocked().isEmpty();
+            // Same browser context as the session, which matters with session.mode=contexts
+            Map<String, Object> info = (Map<String, Object>) cdp.executeCdpCommand("Target.getTargetInfo", Map.of())
+                    .get("targetInfo");
+            Map<String, Object> params = new HashMap<>(Map.of("url", blocking ? "about:blank" : url, "background", true));
+            if (info.get("browserContextId") != null) {
+                params.put("browserContextId", info.get("browserContextId"));
+            }
+            String targetId = (String) cdp.executeCdpCommand("Target.createTarget", params).get("targetId");
+            handle = IsolatedContext.handleOf(driver, targetId);
+            if (blocking && handle != null) {
+                loadBlocked(cdp, handle, url, check.blocked());
+            }
+        } else {
+            Set<String> before = new HashSet<>(driver.getWindowHandles());
+            ((JavascriptExecutor) driver).executeScript("window.open(arguments[0], '_blank', 'noopener');", url);
+            handle = driver.getWindowHandles().stream().filter(h -> !before.contains(h)).findFirst().orElse(null);
+        }
+        if (handle == null) {
+            throw new IllegalStateException("Could not find the tab opened for " + url);
+        }
+        Timeline.span("tab open", "session", start);
+        return handle;
+    }
+
+    /**
+     * Sets the block in the blank tab {@code handle}, then starts loading {@code url} there without
+     * waiting for it. DevTools commands go to the window WebDriver is in, hence the switches.
+     */
+    private void loadBlocked(HasCdp cdp, String handle, String url, List<String> blocked) {
+        String from = driver.getWindowHandle();
+        driver.switchTo().window(handle);
+        try {
+            cdp.executeCdpCommand("Network.enable", Map.of());
+            cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blocked));
+            cdp.executeCdpCommand("Page.navigate", Map.of("url", url));
+        } finally {
+            driver.switchTo().window(from);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.shared.session;
+
+import edu.shared.metrics.TimedWait;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * Per-thread ownership of pooled browser sessions.
+ * <p>
+ * With {@code parallel="methods"} TestNG shares one test-class instance between worker threads, so
+ * sessions must not live in instance fields. Each worker thread instead leases its own session on
+ * first use and gives it back with {@link #release()}; {@code @BeforeMethod}, the test method and
+ * {@code @AfterMethod} all run on the same worker thread.
+ */
+public final class ThreadSessions {
+
+    private static final Duration DEFAULT_WAIT = Duration.ofSeconds(10);
+
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriverWait> WAIT = new ThreadLocal<>();
+    private static final ThreadLocal<IsolatedContext> CONTEXT = new ThreadLocal<>();
+
+    private ThreadSessions() {
+    }
+
+    /**
+     * The current thread's session, leased from the shared pool on first use.
+     */
+    public static WebDriver driver() {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            driver = SessionPool.shared().lease();
+            DRIVER.set(driver);
+        }
+        return driver;
+    }
+
+    /**
+     * A 10-second wait bound to the current thread's session.
+     */
+    public static WebDriverWait await() {
+        WebDriverWait wait = WAIT.get();
+        if (wait == null) {
+            wait = new TimedWait(driver(), DEFAULT_WAIT);
+            WAIT.set(wait);
+        }
+        return wait;
+    }
+
+    /**
+     * Moves the current thread's session into a fresh {@link IsolatedContext} until {@link #release()},
+     * so the test sees no cookies, storage or cache from earlier tests on the same browser. The thread
+     * still needs a session of its own; only with {@code session.mode=contexts} is that not a whole Chrome.
+     */
+    public static void isolate() {
+        if (CONTEXT.get() == null) {
+            CONTEXT.set(IsolatedContext.open(driver()));
+        }
+    }
+
+    public static boolean hasSession() {
+        return DRIVER.get() != null;
+    }
+
+    /**
+     * Returns the current thread's session to the pool, if it holds one.
+     */
+    public static void release() {
+        WebDriver driver = DRIVER.get();
+        IsolatedContext context = CONTEXT.get();
+        DRIVER.remove();
+        WAIT.remove();
+        CONTEXT.remove();
+        Navigator.forget();
+        if (context != null) {
+            try {
+                context.close();
+            } catch (RuntimeException e) {
+                // The pool's health check decides whether the session is still usable
+                System.err.println("ThreadSessions: could not dispose browser context: " + e.getMessage());
+            }
+        }
+        if (driver != null) {
+            SessionPool.shared().release(driver);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package edu.shared.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class PerfGateTest {
+
+    private static Map<String, PerfGate.Row> rows(long p95Millis, long commands) {
+        return Map.of("T.test", new PerfGate.Row("T.test", 1, p95Millis, p95Millis, commands));
+    }
+
+    @Test(description = "Slower by more than the threshold and by at least minDelta is a regression")
+    public void testSlowerBeyondThresholdAndMinDelta() {
+        List<String> regressions = PerfGate.compare(rows(1300, 10), rows(1000, 10), 20, 250);
+        Assert.assertEquals(regressions.size(), 1);
+    }
+
+    @Test(description = "Slower within the threshold passes")
+    public void testSlowerWithinThreshold() {
+        Assert.assertTrue(PerfGate.compare(rows(1200, 10), rows(1000, 10), 20, 250).isEmpty());
+    }
+
+    @Test(description = "Over the threshold but below minDelta passes, so short tests do not flake")
+    public void testSlowerBelowMinDelta() {
+        Assert.assertTrue(PerfGate.compare(rows(200, 10), rows(100, 10), 20, 250).isEmpty());
+    }
+
+    @Test(description = "More commands than the threshold allows is a regression, whatever the timing")
+    public void testMoreCommands() {
+        Assert.assertEquals(PerfGate.compare(rows(1000, 13), rows(1000, 10), 20, 250).size(), 1);
+        Assert.assertTrue(PerfGate.compare(rows(1000, 12), rows(1000, 10), 20, 250).isEmpty());
+    }
+
+    @Test(description = "Tests without a baseline are reported but do not fail the gate")
+    public void testMissingBaseline() {
+        Assert.assertTrue(PerfGate.compare(rows(5000, 100), Map.of(), 20, 250).isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+package edu.shared.metrics;
+
+import edu.shared.session.ThreadSessions;
+import edu.standin.WikiStandIn;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+// Runs SuggestLatency.type() in a real browser against a stand-in that answers every request late
+public class SuggestLatencyTest {
+
+    private static final long SERVER_DELAY_MS = 300;
+
+    private WikiStandIn standIn;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        standIn = WikiStandIn.start(0, SERVER_DELAY_MS);
+        try {
+            ThreadSessions.driver();
+        } catch (RuntimeException e) {
+            throw new SkipException("No browser session available: " + e.getMessage());
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        ThreadSessions.release();
+        if (standIn != null) {
+            standIn.stop();
+        }
+    }
+
+    @Test(description = "Every keystroke is accounted for, the last one settles, and no sample beats the server's delay")
+    public void testTypeAgainstLateSuggestions() {
+        WebDriver driver = ThreadSessions.driver();
+        driver.get(standIn.origin("www.wikipedia.org") + "/");
+        SuggestLatency.Result result = SuggestLatency.type(driver, driver.findElement(By.id("searchInput")),
+                driver.findElement(By.id("typeahead-suggestions")), "Selen");
+
+        Assert.assertEquals(result.keystrokes().size(), 5);
+        Assert.assertTrue(result.settled(), "The list should answer the last keystroke: " + result.summary());
+        // Keys come every 200 ms and answers after 300 ms, so an answer credited to the wrong key would be too fast
+        for (double millis : result.latencies()) {
+            Assert.assertTrue(millis >= SERVER_DELAY_MS, "Latency below the server's delay: " + result.summary());
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package edu.jgp;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import edu.shared.WikiUrls;
+import edu.shared.http.Hybrid;
+import edu.shared.http.PageView;
+import edu.shared.http.Structural;
+import edu.shared.net.BlockResources;
+import edu.shared.net.ResourceType;
+import edu.shared.page.ArticlePage;
+import edu.shared.page.CategoryPage;
+import edu.shared.page.HistoryPage;
+import edu.shared.page.PortalPage;
+import edu.shared.pacing.Pacing;
+import edu.shared.session.Navigator;
+import edu.shared.session.ThreadSessions;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
@@ -15,65 +25,73 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import java.time.Duration;
+import java.lang.reflect.Method;
 
+// Navigation checks only look at URLs, titles and links; images and fonts are skipped
+@BlockResources({ResourceType.IMAGES, ResourceType.FONTS, ResourceType.MEDIA, ResourceType.ANALYTICS})
 public class NavigationTest {
-    private WebDriver driver;
-    private WebDriverWait wait;
-
-    private static final String PORTAL_URL       = "https://www.wikipedia.org/";
-    private static final String EN_MAIN_PAGE_URL = "https://en.wikipedia.org/wiki/Main_Page";
-    private static final String WIKI_BASE        = "https://en.wikipedia.org/wiki";
+    private static final String PORTAL_URL       = WikiUrls.portal();
+    private static final String EN_MAIN_PAGE_URL = WikiUrls.article("en", "Main_Page");
+    private static final String WIKI_BASE        = WikiUrls.origin("en.wikipedia.org") + "/wiki";
     private static final String ARTICLE_URL      = WIKI_BASE + "/Selenium_(software)";
 
-    // Pause helper: delay for visibility
+    // Each worker thread owns its session, so parallel test methods never share a driver.
+    // Reading the session directly first loads the start page, if no page was opened instead.
+    private WebDriver driver() {
+        return Navigator.settle(ThreadSessions.driver());
+    }
+
+    private WebDriverWait await() {
+        return ThreadSessions.await();
+    }
+
+    // Page objects wait for the part of each page the tests use, not for the full load event
+    private ArticlePage article() {
+        return new ArticlePage(ThreadSessions.driver(), await());
+    }
+
+    // Pause helper: delay for visibility (skipped with -Dpacing.mode=fast)
     public static void pause() {
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.err.println("Pause interrupted: " + e.getMessage());
-        }
+        Pacing.pause("navigation", Pacing.DEFAULT_PAUSE_MS);
     }
 
     @BeforeClass
-    public static void globalSetup() {
-        System.out.println("BeforeClass: setup WebDriverManager");
-        WebDriverManager.chromedriver().setup();
-        System.out.println("BeforeClass: WebDriverManager ready");
+    public void prefetch() {
+        // Hybrid mode only: start fetching the pages the structural tests read
+        Hybrid.prefetch(PORTAL_URL, ARTICLE_URL);
     }
 
     @BeforeMethod
-    public void setUp() {
-        System.out.println("BeforeMethod: starting browser session");
-        ChromeOptions options = new ChromeOptions().addArguments("--start-maximized");
-        driver = new ChromeDriver(options);
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        System.out.println("BeforeMethod: navigating to main page");
-        driver.get(EN_MAIN_PAGE_URL);
-        System.out.println("BeforeMethod: main page loaded");
+    public void setUp(Method method) {
+        if (Hybrid.isBrowserless(method)) {
+            System.out.println("BeforeMethod: " + method.getName() + " reads fetched HTML, no browser needed");
+            return;
+        }
+        // Sessions load eagerly with a 30-second page-load timeout (see BrowserProfile)
+        System.out.println("BeforeMethod: leasing browser session");
+        // Most tests open their own page first, so the main page loads only when a test reads it
+        System.out.println("BeforeMethod: main page deferred until first use");
+        Navigator.defer(ThreadSessions.driver(), EN_MAIN_PAGE_URL);
     }
 
     @AfterMethod
     public void tearDown() {
-        System.out.println("AfterMethod: closing browser session");
-        if (driver != null) {
-            driver.quit();
-        }
-        System.out.println("AfterMethod: browser closed");
+        System.out.println("AfterMethod: returning browser session");
+        ThreadSessions.release();
+        System.out.println("AfterMethod: browser returned to pool");
     }
 
     // Test 1: verify portal page loads with 'Wikipedia' in title
+    @Structural
     @Test(priority = 1, description = "Verify portal page loads with 'Wikipedia' in title")
     public void testOpenHomePage() {
         System.out.println("Test 1: verify portal page loads with 'Wikipedia' in title");
         System.out.println("Navigating to portal URL: " + PORTAL_URL);
-        driver.get(PORTAL_URL);
+        PageView portal = Hybrid.enabled() ? Hybrid.fetch(PORTAL_URL) : new PortalPage(ThreadSessions.driver(), await()).open().view();
 
         System.out.println("Retrieving page title");
         pause();
-        String title = driver.getTitle();
+        String title = portal.title();
         System.out.println("Page title: " + title);
 
         try {
@@ -92,11 +110,11 @@ public class NavigationTest {
     public void testClickLogoReturnsHome() {
         System.out.println("Test 2: click logo to return to main page");
         System.out.println("Navigating to article URL: " + ARTICLE_URL);
-        driver.get(ARTICLE_URL);
+        article().open(ARTICLE_URL);
 
         System.out.println("Waiting for logo element");
         pause();
-        WebElement logo = wait.until(
+        WebElement logo = await().until(
                 ExpectedConditions.elementToBeClickable(By.cssSelector("a.mw-logo"))
         );
 
@@ -106,9 +124,9 @@ public class NavigationTest {
 
         System.out.println("Waiting for main page URL");
         pause();
-        wait.until(ExpectedConditions.urlToBe(EN_MAIN_PAGE_URL));
+        await().until(ExpectedConditions.urlToBe(EN_MAIN_PAGE_URL));
 
-        String current = driver.getCurrentUrl();
+        String current = driver().getCurrentUrl();
         System.out.println("Current URL: " + current);
 
         try {
@@ -127,17 +145,17 @@ public class NavigationTest {
     public void testClickFirstInternalLink() {
         System.out.println("Test 3: click first internal link in article content");
         System.out.println("Navigating to article URL: " + ARTICLE_URL);
-        driver.get(ARTICLE_URL);
+        article().open(ARTICLE_URL);
 
         System.out.println("Waiting for first internal link");
         pause();
-        WebElement firstLink = wait.until(
+        WebElement firstLink = await().until(
                 ExpectedConditions.elementToBeClickable(
                         By.cssSelector("div#mw-content-text p a[href*='/wiki/']:not([href*=':'])")
                 )
         );
 
-        String original = driver.getCurrentUrl();
+        String original = driver().getCurrentUrl();
         System.out.println("Original URL: " + original);
 
         System.out.println("Clicking first internal link");
@@ -146,9 +164,9 @@ public class NavigationTest {
 
         System.out.println("Waiting for new article URL");
         pause();
-        wait.until(ExpectedConditions.urlMatches(WIKI_BASE + "/.+"));
+        await().until(ExpectedConditions.urlMatches(WIKI_BASE + "/.+"));
 
-        String current = driver.getCurrentUrl();
+        String current = driver().getCurrentUrl();
         System.out.println("New URL: " + current);
 
         try {
@@ -169,32 +187,32 @@ public class NavigationTest {
     public void testOpenRandomArticle() {
         System.out.println("Test 4: open random article via menu");
         System.out.println("Navigating to article URL: " + ARTICLE_URL);
-        driver.get(ARTICLE_URL);
+        article().open(ARTICLE_URL);
 
         System.out.println("Opening main menu");
         pause();
-        WebElement menuCheckbox = wait.until(
+        WebElement menuCheckbox = await().until(
                 ExpectedConditions.presenceOfElementLocated(By.id("vector-main-menu-dropdown-checkbox"))
         );
-        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", menuCheckbox);
+        ((JavascriptExecutor) driver()).executeScript("arguments[0].click();", menuCheckbox);
 
         System.out.println("Waiting for menu list");
         pause();
-        wait.until(ExpectedConditions.visibilityOfElementLocated(
+        await().until(ExpectedConditions.visibilityOfElementLocated(
                 By.cssSelector("ul.vector-menu-content-list")
         ));
 
         System.out.println("Clicking random article link");
         pause();
-        wait.until(ExpectedConditions.elementToBeClickable(
+        await().until(ExpectedConditions.elementToBeClickable(
                 By.cssSelector("li#n-randompage a")
         )).click();
 
         System.out.println("Waiting for random article URL");
         pause();
-        wait.until(ExpectedConditions.urlMatches(WIKI_BASE + "/.+"));
+        await().until(ExpectedConditions.urlMatches(WIKI_BASE + "/.+"));
 
-        String title = driver.getTitle();
+        String title = driver().getTitle();
         System.out.println("Random article title: " + title);
 
         try {
@@ -213,32 +231,32 @@ public class NavigationTest {
     public void testNavigateBackAndForward() {
         System.out.println("Test 5: browser back and forward navigation");
         System.out.println("Navigating to main page");
-        driver.get(EN_MAIN_PAGE_URL);
+        article().open(EN_MAIN_PAGE_URL);
 
         System.out.println("Navigating to article page");
         pause();
-        driver.get(ARTICLE_URL);
+        article().open(ARTICLE_URL);
 
         System.out.println("Navigating back");
         pause();
-        driver.navigate().back();
+        driver().navigate().back();
 
         System.out.println("Waiting for main page URL");
         pause();
-        wait.until(ExpectedConditions.urlToBe(EN_MAIN_PAGE_URL));
-        System.out.println("Back navigation URL: " + driver.getCurrentUrl());
+        await().until(ExpectedConditions.urlToBe(EN_MAIN_PAGE_URL));
+        System.out.println("Back navigation URL: " + driver().getCurrentUrl());
 
         System.out.println("Navigating forward");
         pause();
-        driver.navigate().forward();
+        driver().navigate().forward();
 
         System.out.println("Waiting for article URL");
         pause();
-        wait.until(ExpectedConditions.urlContains("Selenium_(software)"));
-        System.out.println("Forward navigation URL: " + driver.getCurrentUrl());
+        await().until(ExpectedConditions.urlContains("Selenium_(software)"));
+        System.out.println("Forward navigation URL: " + driver().getCurrentUrl());
 
         try {
-            Assert.assertTrue(driver.getCurrentUrl().contains("Selenium_(software)"),
+            Assert.assertTrue(driver().getCurrentUrl().contains("Selenium_(software)"),
                     "Forward navigation should return to the article");
             System.out.println("Test 5 SUCCESS: navigation back and forward works");
         } catch (AssertionError e) {
@@ -249,38 +267,49 @@ public class NavigationTest {
     }
 
     // Test 6: switch article to French via language link
+    @Structural
     @Test(priority = 6, description = "Switch article to French via language link")
     public void testChangeLanguageLink() {
         System.out.println("Test 6: switch article to French via language link");
         System.out.println("Navigating to article URL: " + ARTICLE_URL);
-        driver.get(ARTICLE_URL);
-
-        System.out.println("Opening language menu");
-        pause();
-        WebElement toggle = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("p-lang-btn"))
-        );
-        toggle.click();
-
-        System.out.println("Waiting for French link");
-        pause();
-        By frenchLink = By.cssSelector("li.interwiki-fr > a.autonym[lang='fr']");
-        WebElement french = wait.until(
-                ExpectedConditions.elementToBeClickable(frenchLink)
-        );
-
-        System.out.println("Clicking French link");
-        pause();
-        ((JavascriptExecutor) driver)
-                .executeScript("arguments[0].scrollIntoView({block:'center'})", french);
-        french.click();
-
-        System.out.println("Waiting for French subdomain");
-        pause();
-        wait.until(ExpectedConditions.urlContains("fr.wikipedia.org"));
-
-        String htmlLang = driver.findElement(By.tagName("html"))
-                .getAttribute("lang");
+        String htmlLang;
+        if (Hybrid.enabled()) {
+            // Follow the French interlanguage link in the fetched HTML, as the menu click would
+            String frenchUrl = Hybrid.fetch(ARTICLE_URL)
+                    .first("li.interwiki-fr > a.autonym[lang='fr']", "href").orElseThrow().href();
+            PageView french = Hybrid.fetch(frenchUrl);
+            Assert.assertTrue(french.url().contains("fr.wikipedia.org"), "Should land on the French subdomain");
+            htmlLang = french.first("html", "lang").orElseThrow().attribute("lang");
+        } else {
+            article().open(ARTICLE_URL);
+
+            System.out.println("Opening language menu");
+            pause();
+            WebElement toggle = await().until(
+                    ExpectedConditions.elementToBeClickable(By.id("p-lang-btn"))
+            );
+            toggle.click();
+
+            System.out.println("Waiting for French link");
+            pause();
+            By frenchLink = By.cssSelector("li.interwiki-fr > a.autonym[lang='fr']");
+            WebElement french = await().until(
+                    ExpectedConditions.elementToBeClickable(frenchLink)
+            );
+
+            System.out.println("Clicking French link");
+            pause();
+            ((JavascriptExecutor) driver())
+                    .executeScript("arguments[0].scrollIntoView({block:'center'})", french);
+            french.click();
+
+            System.out.println("Waiting for French subdomain");
+            pause();
+            await().until(ExpectedConditions.urlContains("fr.wikipedia.org"));
+
+            htmlLang = driver().findElement(By.tagName("html"))
+                    .getAttribute("lang");
+        }
         System.out.println("HTML lang attribute: " + htmlLang);
 
         try {
@@ -299,21 +328,18 @@ public class NavigationTest {
     public void testOpenHistoryTab() {
         System.out.println("Test 7: open revision history tab");
         System.out.println("Navigating to article URL: " + ARTICLE_URL);
-        driver.get(ARTICLE_URL);
+        ArticlePage article = article().open(ARTICLE_URL);
 
         System.out.println("Clicking history tab");
         pause();
-        WebElement historyTab = wait.until(
-                ExpectedConditions.elementToBeClickable(By.cssSelector("#ca-history a"))
-        );
-        historyTab.click();
+        HistoryPage history = article.openHistory();
 
         System.out.println("Waiting for history section");
         pause();
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("pagehistory")));
+        WebElement revisions = history.revisions();
 
         try {
-            Assert.assertTrue(driver.findElement(By.id("pagehistory")).isDisplayed(),
+            Assert.assertTrue(revisions.isDisplayed(),
                     "Revision history list should be displayed");
             System.out.println("Test 7 SUCCESS: history tab opened");
         } catch (AssertionError e) {
@@ -328,21 +354,18 @@ public class NavigationTest {
     public void testOpenTalkPage() {
         System.out.println("Test 8: open talk page");
         System.out.println("Navigating to article URL: " + ARTICLE_URL);
-        driver.get(ARTICLE_URL);
+        ArticlePage article = article().open(ARTICLE_URL);
 
         System.out.println("Clicking talk tab");
         pause();
-        WebElement talkTab = wait.until(
-                ExpectedConditions.elementToBeClickable(By.cssSelector("#ca-talk a"))
-        );
-        talkTab.click();
+        article.openTalk();
 
         System.out.println("Waiting for talk page URL");
         pause();
-        wait.until(ExpectedConditions.urlContains("Talk:Selenium_(software)"));
+        await().until(ExpectedConditions.urlContains("Talk:Selenium_(software)"));
 
         try {
-            Assert.assertTrue(driver.getTitle().startsWith("Talk:"),
+            Assert.assertTrue(driver().getTitle().startsWith("Talk:"),
                     "Talk page title should begin with 'Talk:'");
             System.out.println("Test 8 SUCCESS: talk page opened");
         } catch (AssertionError e) {
@@ -357,11 +380,11 @@ public class NavigationTest {
     public void testNavigateToCategoryPage() {
         System.out.println("Test 9: navigate to category page");
         System.out.println("Navigating to article URL: " + ARTICLE_URL);
-        driver.get(ARTICLE_URL);
+        article().open(ARTICLE_URL);
 
         System.out.println("Clicking category link");
         pause();
-        WebElement categoryLink = wait.until(
+        WebElement categoryLink = await().until(
                 ExpectedConditions.elementToBeClickable(
                         By.cssSelector(".mw-normal-catlinks ul li a")
                 )
@@ -370,10 +393,11 @@ public class NavigationTest {
 
         System.out.println("Waiting for category page URL");
         pause();
-        wait.until(ExpectedConditions.urlContains("/wiki/Category:"));
+        await().until(ExpectedConditions.urlContains("/wiki/Category:"));
+        new CategoryPage(driver(), await()).ready();
 
         try {
-            Assert.assertTrue(driver.getTitle().startsWith("Category:"),
+            Assert.assertTrue(driver().getTitle().startsWith("Category:"),
                     "Category page title should start with 'Category:'");
             System.out.println("Test 9 SUCCESS: category page opened");
         } catch (AssertionError e) {
@@ -388,11 +412,11 @@ public class NavigationTest {
     public void testTableOfContentsNavigation() {
         System.out.println("Test 10: table of contents fragment navigation");
         System.out.println("Navigating to article URL: " + ARTICLE_URL);
-        driver.get(ARTICLE_URL);
+        article().open(ARTICLE_URL);
 
         System.out.println("Clicking TOC entry");
         pause();
-        WebElement tocLink = wait.until(
+        WebElement tocLink = await().until(
                 ExpectedConditions.elementToBeClickable(
                         By.cssSelector("ul#mw-panel-toc-list li a[href*='#']:not([href$='#'])")
                 )
@@ -401,7 +425,7 @@ public class NavigationTest {
 
         System.out.println("Waiting for fragment in URL");
         pause();
-        String currentUrl = driver.getCurrentUrl();
+        String currentUrl = driver().getCurrentUrl();
         System.out.println("Current URL: " + currentUrl);
 
         String fragment = currentUrl.substring(currentUrl.indexOf('#') + 1);
@@ -409,7 +433,7 @@ public class NavigationTest {
 
         System.out.println("Verifying section heading visibility");
         pause();
-        WebElement sectionHeading = wait.until(
+        WebElement sectionHeading = await().until(
                 ExpectedConditions.visibilityOfElementLocated(By.id(fragment))
         );
 
@@ -1,11 +1,16 @@
 package edu.tmi;
 
+import edu.shared.WikiUrls;
+import edu.shared.dom.TextInput;
+import edu.shared.page.ArticlePage;
+import edu.shared.page.LoginPage;
+import edu.shared.pacing.Pacing;
+import edu.shared.session.LoginState;
+import edu.shared.session.ThreadSessions;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
@@ -14,7 +19,12 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
-import java.time.Duration;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 public class AuthenticationTest {
@@ -23,60 +33,57 @@ public class AuthenticationTest {
     private static final String password = "Hkforty7!";
 
     // Wikipedia URLs
-    private static final String BASE_URL = "https://en.wikipedia.org/wiki/Main_Page";
+    private static final String BASE_URL = WikiUrls.article("en", "Main_Page");
 
-    // WebDriver and wait
-    private WebDriver driver;
-    private WebDriverWait wait;
+    // Personal-tools link shown only while logged in
+    private static final By USER_LINK = ArticlePage.userLink(username);
 
-    // Pause duration in milliseconds (2 seconds)
-    private static final long PAUSE_DURATION = 2000;
+    // WebDriver and wait: each worker thread owns its session, so parallel test methods never share a driver
+    private WebDriver driver() {
+        return ThreadSessions.driver();
+    }
+
+    private WebDriverWait await() {
+        return ThreadSessions.await();
+    }
 
     @BeforeMethod
-    public void setupBrowser() {
-        // Let Selenium locate and use the ChromeDriver
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
-        options.addArguments("--disable-notifications");
+    public void setupBrowser(Method method) {
+        // Lease a warm session (maximized, notifications disabled) from the shared pool
+        ThreadSessions.driver();
 
-        // Initialize driver and wait
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        // Data-driven invocations run in parallel, each in its own throwaway browser context
+        if (!method.getAnnotation(Test.class).dataProvider().isEmpty()) {
+            ThreadSessions.isolate();
+        }
 
-        System.out.println("Browser started");
+        System.out.println("Browser leased");
     }
 
     @AfterMethod
     public void closeBrowser() {
-        if (driver != null) {
-            driver.quit();
-            System.out.println("Browser closed");
+        if (ThreadSessions.hasSession()) {
+            // The pool clears cookies and storage, so a login never leaks into the next test
+            ThreadSessions.release();
+            System.out.println("Browser returned to pool");
         }
     }
 
     /**
-     * Helper method to pause execution to make tests easier to follow
+     * Helper method to pause execution to make tests easier to follow (skipped with -Dpacing.mode=fast)
      */
     private void pause() {
-        try {
-            Thread.sleep(PAUSE_DURATION);
-        } catch (InterruptedException e) {
-            System.out.println("Pause interrupted: " + e.getMessage());
-        }
+        Pacing.pause("authentication", Pacing.DEFAULT_PAUSE_MS);
     }
 
     /**
-     * Overloaded pause with custom duration
+     * Overloaded pause with custom demo duration, used between keystrokes
      */
     private void pause(long duration) {
-        try {
-            Thread.sleep(duration);
-        } catch (InterruptedException e) {
-            System.out.println("Pause interrupted: " + e.getMessage());
-        }
+        Pacing.pause("typing", duration);
     }
 
-    @DataProvider(name = "emptyCredentialsProvider")
+    @DataProvider(name = "emptyCredentialsProvider", parallel = true)
     public Object[][] provideEmptyCredentials() {
         return new Object[][]{
                 {"", password, "Empty username"},
@@ -85,14 +92,18 @@ public class AuthenticationTest {
         };
     }
 
-    @DataProvider(name = "sqlInjectionProvider")
-    public Object[][] provideSqlInjection() {
-        return new Object[][]{
-                {"' OR '1'='1"},
-                {"admin' --"},
-                {"' OR 1=1;--"},
-                {"' UNION SELECT 1,username,password FROM users--"}
-        };
+    // One payload per line of src/test/resources/sql-injection.txt
+    @DataProvider(name = "sqlInjectionProvider", parallel = true)
+    public Object[][] provideSqlInjection() throws IOException {
+        try (InputStream in = AuthenticationTest.class.getResourceAsStream("/sql-injection.txt")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing sql-injection.txt on the test classpath");
+            }
+            return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines()
+                    .filter(line -> !line.isBlank() && !line.startsWith("#"))
+                    .map(line -> new Object[]{line})
+                    .toArray(Object[][]::new);
+        }
     }
 
     // 1) Incorrect login scenarios
@@ -101,18 +112,17 @@ public class AuthenticationTest {
         System.out.println("\nTest Case: Verify login failure with invalid username");
 
         // Navigate to login page
-        navigateToLoginPage();
+        LoginPage login = navigateToLoginPage();
         pause();
 
         // Login with invalid username
         String invalidUsername = "invalid_user_" + System.currentTimeMillis();
         System.out.println("  Attempting login with invalid username: " + invalidUsername);
-        performLogin(invalidUsername, password);
+        login.logIn(invalidUsername, password);
         pause();
 
         // Verify error message
-        WebElement errorMsg = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.xpath("/html/body/div[2]/div/div[3]/main/div[3]/div[3]/div[2]/div/form/div[1]/div")));
+        WebElement errorMsg = login.errorMessage();
 
         Assert.assertTrue(errorMsg.isDisplayed() &&
                         errorMsg.getText().contains("Incorrect username or password"),
@@ -125,18 +135,17 @@ public class AuthenticationTest {
         System.out.println("\nTest Case: Verify login failure with invalid password");
 
         // Navigate to login page
-        navigateToLoginPage();
+        LoginPage login = navigateToLoginPage();
         pause();
 
         // Login with invalid password
         String invalidPassword = "invalid_pass_" + System.currentTimeMillis();
         System.out.println("  Attempting login with invalid password");
-        performLogin(username, invalidPassword);
+        login.logIn(username, invalidPassword);
         pause();
 
         // Verify error message
-        WebElement errorMsg = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.xpath("/html/body/div[2]/div/div[3]/main/div[3]/div[3]/div[2]/div/form/div[1]/div")));
+        WebElement errorMsg = login.errorMessage();
 
         Assert.assertTrue(errorMsg.isDisplayed() &&
                         errorMsg.getText().contains("Incorrect username or password"),
@@ -149,32 +158,25 @@ public class AuthenticationTest {
         System.out.println("\nTest Case: Test login with " + testDescription);
 
         // Navigate to login page
-        navigateToLoginPage();
+        LoginPage login = navigateToLoginPage();
         pause();
 
         System.out.println("  Testing: " + testDescription);
 
         // Fill in credentials (intentionally empty)
-        WebElement usernameField = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("wpName1")));
-        WebElement passwordField = driver.findElement(By.id("wpPassword1"));
-        WebElement loginButton = driver.findElement(By.id("wpLoginAttempt"));
-
-        usernameField.clear();
-        usernameField.sendKeys(testUsername);
-
-        passwordField.clear();
-        passwordField.sendKeys(testPassword);
+        WebElement usernameField = login.username();
+        WebElement passwordField = login.password();
+        login.fillIn(testUsername, testPassword);
 
         pause();
-        loginButton.click();
+        login.submit();
         pause();
 
         // Check for field validation (either HTML5 validation or error message)
         boolean validationError = false;
 
         // Check for error message
-        List<WebElement> errorMsgs = driver.findElements(By.cssSelector(".mw-message-box-error"));
-        if (!errorMsgs.isEmpty()) {
+        if (login.hasErrorBox()) {
             validationError = true;
         }
 
@@ -202,16 +204,21 @@ public class AuthenticationTest {
         System.out.println("\nTest Case: Verify password is masked during entry");
 
         // Navigate to login page
-        navigateToLoginPage();
+        LoginPage login = navigateToLoginPage();
         pause();
 
         // Demonstrate masking by entering password slowly
-        WebElement passwordField = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("wpPassword1")));
+        WebElement passwordField = login.password();
         String demoPassword = "Password123";
         passwordField.clear();
-        for (char c : demoPassword.toCharArray()) {
-            passwordField.sendKeys(String.valueOf(c));
-            pause(500);
+        if (Pacing.mode() == Pacing.Mode.DEMO) {
+            for (char c : demoPassword.toCharArray()) {
+                passwordField.sendKeys(String.valueOf(c));
+                pause(500);
+            }
+        } else {
+            // Nobody is watching the masking; the whole password in one input call
+            TextInput.insert(driver(), passwordField, demoPassword);
         }
 
         // Now check the attribute
@@ -227,17 +234,17 @@ public class AuthenticationTest {
         System.out.println("\nTest Case: Test SQL injection prevention with: " + sqlInjection);
 
         // Navigate to login page
-        navigateToLoginPage();
+        LoginPage login = navigateToLoginPage();
         pause();
 
         System.out.println("  Testing SQL injection: " + sqlInjection);
 
         // Attempt SQL injection login
-        performLogin(sqlInjection, sqlInjection);
+        login.logIn(sqlInjection, sqlInjection);
         pause();
 
         // Verify login failed
-        List<WebElement> userLinks = driver.findElements(
+        List<WebElement> userLinks = driver().findElements(
                 By.xpath("//li[@id='pt-userpage-2']/a"));
 
         boolean injectionFailed = userLinks.isEmpty() || !userLinks.get(0).getText().equals(sqlInjection);
@@ -250,49 +257,51 @@ public class AuthenticationTest {
         System.out.println("\nTest Case: Verify successful login with valid credentials");
 
         // Navigate to login page
-        navigateToLoginPage();
+        LoginPage login = navigateToLoginPage();
         pause();
 
         // Login with valid credentials
         System.out.println("  Attempting login with valid credentials...");
-        performLogin(username, password);
+        login.logIn(username, password);
         pause();
 
         // Verify successful login
-        WebElement userLink = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.xpath("//li[@id='pt-userpage-2']/a/span[text()='Meeatbaag']")));
+        WebElement userLink = await().until(ExpectedConditions.visibilityOfElementLocated(USER_LINK));
 
         Assert.assertTrue(userLink.isDisplayed(), "User should be logged in successfully");
         System.out.println("  LOGIN TEST PASSED: Successfully logged in with valid credentials");
+
+        // Later tests that only need a logged-in user restore this login instead of using the form
+        LoginState.shared().remember(driver(), BASE_URL, username);
     }
 
     @Test(priority = 6, dependsOnMethods = "testSuccessfulLogin")
     public void testSuccessfulLogout() {
         System.out.println("\nTest Case: Verify successful logout after login");
 
-        // First log in
-        navigateToLoginPage();
-        performLogin(username, password);
+        // First log in (restored from the saved login; the form itself is covered by testSuccessfulLogin)
+        logIn();
         pause();
 
         // Now test logout functionality
         System.out.println("  Now testing logout functionality...");
 
-        ((JavascriptExecutor) driver).executeScript(
+        ((JavascriptExecutor) driver()).executeScript(
                 "document.getElementById('vector-user-links-dropdown-checkbox').click();");
 
         pause();
 
-        WebElement logoutLink = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//li[@id='pt-logout']/a")));
-        logoutLink.click();
+        ArticlePage page = new ArticlePage(driver(), await());
+        page.logoutLink().click();
+        page.navigated();
         System.out.println("  Clicked logout link");
         pause();
 
-        WebElement loginLink = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//li[@id='pt-login-2']/a")));
+        WebElement loginLink = page.loginLink();
 
         Assert.assertTrue(loginLink.isDisplayed(), "Login link should be visible after logout");
+        // Logging out ends the server-side session, so the saved login is no longer valid
+        LoginState.shared().forget(BASE_URL, username);
         System.out.println("  LOGOUT TEST PASSED: Successfully logged out");
     }
 
@@ -300,7 +309,7 @@ public class AuthenticationTest {
     public void testCaptchaAfterMultipleFailedAttempts() {
         System.out.println("\nTest Case: Check for CAPTCHA after multiple failed attempts");
 
-        navigateToLoginPage();
+        LoginPage login = navigateToLoginPage();
         pause();
 
         boolean captchaFound = false;
@@ -313,18 +322,10 @@ public class AuthenticationTest {
             attempts++;
             System.out.println("  Attempt " + attempts + "...");
 
-            WebElement usernameField = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("wpName1")));
-            WebElement passwordField = driver.findElement(By.id("wpPassword1"));
-            WebElement loginButton = driver.findElement(By.id("wpLoginAttempt"));
-
-            usernameField.clear();
-            usernameField.sendKeys("invalid_user_" + System.currentTimeMillis());
-
-            passwordField.clear();
-            passwordField.sendKeys("invalid_pass_" + System.currentTimeMillis());
+            login.fillIn("invalid_user_" + System.currentTimeMillis(), "invalid_pass_" + System.currentTimeMillis());
 
             pause();
-            loginButton.click();
+            login.submit();
             pause();
 
             captchaFound = isCaptchaPresent();
@@ -332,8 +333,7 @@ public class AuthenticationTest {
                 System.out.println("  CAPTCHA found on attempt " + attempts);
                 break;
             } else {
-                driver.navigate().refresh();
-                wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("wpName1")));
+                login.reload();
             }
 
             pause();
@@ -350,47 +350,38 @@ public class AuthenticationTest {
      * Helper method to check if CAPTCHA is present
      */
     private boolean isCaptchaPresent() {
-        List<WebElement> captchaContainers = driver.findElements(
+        List<WebElement> captchaContainers = driver().findElements(
                 By.cssSelector(".mw-captcha-container, #mw-input-captcha, .captcha"));
         if (!captchaContainers.isEmpty()) return true;
 
-        List<WebElement> captchaInputs = driver.findElements(
+        List<WebElement> captchaInputs = driver().findElements(
                 By.cssSelector("input[name='wpCaptchaWord'], input.mw-captcha-input"));
         if (!captchaInputs.isEmpty()) return true;
 
-        List<WebElement> captchaImages = driver.findElements(
+        List<WebElement> captchaImages = driver().findElements(
                 By.cssSelector("img.captcha, img[src*='captcha']"));
         if (!captchaImages.isEmpty()) return true;
 
-        String pageSource = driver.getPageSource().toLowerCase();
+        String pageSource = driver().getPageSource().toLowerCase();
         return pageSource.contains("captcha") || pageSource.contains("robot") || pageSource.contains("human verification");
     }
 
     /**
      * Helper method to navigate to login page
      */
-    private void navigateToLoginPage() {
-        driver.get(BASE_URL);
-        WebElement loginLink = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//li[@id='pt-login-2']/a")));
-        loginLink.click();
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("wpName1")));
+    private LoginPage navigateToLoginPage() {
+        return new ArticlePage(driver(), await()).open(BASE_URL).openLogin();
     }
 
     /**
-     * Helper method to perform login
+     * Helper method to get a logged-in session, restoring the saved login when there is one
      */
-    private void performLogin(String user, String pass) {
-        WebElement usernameField = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("wpName1")));
-        WebElement passwordField = driver.findElement(By.id("wpPassword1"));
-        WebElement loginButton = driver.findElement(By.id("wpLoginAttempt"));
-
-        usernameField.clear();
-        usernameField.sendKeys(user);
-
-        passwordField.clear();
-        passwordField.sendKeys(pass);
-
-        loginButton.click();
+    private void logIn() {
+        LoginState.shared().restore(driver(), BASE_URL, username,
+                d -> {
+                    navigateToLoginPage().logIn(username, password);
+                    await().until(ExpectedConditions.visibilityOfElementLocated(USER_LINK));
+                },
+                d -> !d.findElements(USER_LINK).isEmpty());
     }
 }
@@ -1,19 +1,30 @@
 package edu.sen;
 
+import edu.shared.WikiUrls;
+import edu.shared.http.Hybrid;
+import edu.shared.http.PageView;
+import edu.shared.http.Structural;
+import edu.shared.net.BlockResources;
+import edu.shared.net.ResourceType;
+import edu.shared.dom.DomHarvest;
+import edu.shared.page.ArticlePage;
+import edu.shared.pacing.Pacing;
+import edu.shared.session.TabScheduler;
+import edu.shared.session.ThreadSessions;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import java.time.Duration;
+import java.lang.reflect.Method;
 import java.util.List;
 
 /**
@@ -29,37 +40,71 @@ import java.util.List;
  * - checking related articles,
  * - and validating the page footer.
  */
+@BlockResources({ResourceType.FONTS, ResourceType.MEDIA, ResourceType.ANALYTICS})
 public class ContentTest {
 
-    private WebDriver driver;
-    private WebDriverWait wait;
-    private final String SAMPLE_ARTICLE_URL = "https://en.wikipedia.org/wiki/Java_(programming_language)";
-    private final String MAIN_PAGE_URL = "https://en.wikipedia.org/wiki/Main_Page";
+    private final String SAMPLE_ARTICLE_URL = WikiUrls.article("en", "Java_(programming_language)");
+    private final String MAIN_PAGE_URL = WikiUrls.article("en", "Main_Page");
 
-    // Pause helper: delay for visibility
-    public static void pause() {
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.err.println("Pause interrupted: " + e.getMessage());
+    // The class shares one session, owned by its single worker thread (parallel="none" in testng.xml)
+    private WebDriver driver() {
+        return ThreadSessions.driver();
+    }
+
+    private WebDriverWait await() {
+        return ThreadSessions.await();
+    }
+
+    // Waits for the article content, not for the full load event
+    private ArticlePage article() {
+        return new ArticlePage(driver(), await());
+    }
+
+    // Read-only checks of the sample article; each gets a background tab that loads while earlier tests run
+    private static final List<String> READ_ONLY_CHECKS = List.of("testTableOfContents", "testExternalLinks",
+            "testImagePresence", "testReferencesSection", "testInfoboxContent");
+
+    private TabScheduler tabs;
+
+    // In a read-only check's own tab the article is already loading; elsewhere it is opened here
+    private ArticlePage sampleArticle() {
+        return tabs != null && tabs.inTab() ? article().ready() : article().open(SAMPLE_ARTICLE_URL);
+    }
+
+    // Structural checks read fetched HTML in hybrid mode (-Dhybrid=true) and the rendered page otherwise
+    private PageView structure(String url) {
+        if (Hybrid.enabled()) {
+            return Hybrid.fetch(url);
+        }
+        return url.equals(SAMPLE_ARTICLE_URL) ? sampleArticle().view() : article().open(url).view();
+    }
+
+    private void scrollToReferences(PageView page) {
+        if (page.browserless()) {
+            return;
         }
+        pause();
+        ((JavascriptExecutor) driver()).executeScript("window.scrollTo(0, document.body.scrollHeight * 0.8)");
+        pause();
+    }
+
+    // Pause helper: delay for visibility (skipped with -Dpacing.mode=fast)
+    public static void pause() {
+        Pacing.pause("content", Pacing.DEFAULT_PAUSE_MS);
     }
 
     @BeforeClass
     public void setUp() {
-        System.out.println("BeforeClass: initializing WebDriverManager and browser");
+        // Hybrid mode only: fetch the article for the structural tests while the browser starts
+        Hybrid.prefetch(SAMPLE_ARTICLE_URL);
+        System.out.println("BeforeClass: leasing browser");
         pause();
-        // Use WebDriverManager to automatically manage the ChromeDriver
+        // The chromedriver binary is resolved once per JVM by the session pool
         try {
-            io.github.bonigarcia.wdm.WebDriverManager.chromedriver().setup();
-
-            // Set up Chrome options
-            ChromeOptions options = new ChromeOptions();
-            driver = new ChromeDriver(options);
-            driver.manage().window().maximize();
-            wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            System.out.println("BeforeClass: browser session started");
+            // Lease a warm, maximized session from the shared pool
+            ThreadSessions.driver();
+            System.out.println("BeforeClass: browser session leased");
+            scheduleReadOnlyChecks();
             pause();
         } catch (Exception e) {
             System.err.println("Failed to initialize WebDriver: " + e.getMessage());
@@ -67,6 +112,31 @@ public class ContentTest {
         }
     }
 
+    private void scheduleReadOnlyChecks() throws NoSuchMethodException {
+        tabs = new TabScheduler(driver());
+        for (String check : READ_ONLY_CHECKS) {
+            // Browserless in hybrid mode: nothing to load
+            Method method = ContentTest.class.getMethod(check);
+            if (!Hybrid.isBrowserless(method)) {
+                tabs.schedule(method, SAMPLE_ARTICLE_URL);
+            }
+        }
+    }
+
+    @BeforeMethod
+    public void enterTab(Method method) {
+        if (tabs != null) {
+            tabs.enter(method.getName());
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void leaveTab() {
+        if (tabs != null) {
+            tabs.leave();
+        }
+    }
+
     /**
      * Test 1: Validate Featured Article Section
      * Verifies that the Featured Article section is present on the main page
@@ -76,13 +146,13 @@ public class ContentTest {
     public void testFeaturedArticleSection() {
         System.out.println("Test 1: Validate Featured Article Section");
         System.out.println("Navigating to main page: " + MAIN_PAGE_URL);
-        driver.get(MAIN_PAGE_URL);
+        article().open(MAIN_PAGE_URL);
 
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("mp-tfa")));
+        await().until(ExpectedConditions.visibilityOfElementLocated(By.id("mp-tfa")));
         System.out.println("Featured Article section is visible");
         pause();
 
-        WebElement featuredArticleSection = driver.findElement(By.id("mp-tfa"));
+        WebElement featuredArticleSection = driver().findElement(By.id("mp-tfa"));
         String featuredArticleText = featuredArticleSection.getText();
 
         Assert.assertTrue(featuredArticleSection.isDisplayed(), "Featured article section is not displayed");
@@ -100,17 +170,17 @@ public class ContentTest {
     public void testLanguageLinks() {
         System.out.println("Test 2: Check Language Links");
         System.out.println("Navigating to article: " + SAMPLE_ARTICLE_URL);
-        driver.get(SAMPLE_ARTICLE_URL);
+        article().open(SAMPLE_ARTICLE_URL);
 
         System.out.println("Testing language links with multiple approaches");
         pause();
-        List<WebElement> languageLinks = new java.util.ArrayList<>();
+        List<DomHarvest.Harvested> languageLinks = new java.util.ArrayList<>();
 
         try {
             // First approach: Look for language button that can be clicked
             try {
                 // Look for various language selector buttons that might exist
-                WebElement languageButton = driver.findElement(
+                WebElement languageButton = driver().findElement(
                         By.cssSelector(".mw-interlanguage-selector, .uls-settings-trigger, " +
                                 ".interlanguage-link-target, .vector-dropdown-label-language, " +
                                 "a[data-jsl10n='otherlanguages']"));
@@ -121,9 +191,10 @@ public class ContentTest {
                 pause(); // Short pause to let dropdowns appear
 
                 // After clicking, look for language links in dropdowns or popups
-                languageLinks = driver.findElements(
-                        By.cssSelector(".uls-language-list a, .interlanguage-link a, " +
-                                ".mw-interlanguage-selector + * a"));
+                languageLinks = DomHarvest.select(driver(), ".uls-language-list a, .interlanguage-link a, " +
+                                ".mw-interlanguage-selector + * a")
+                        .attributes("href")
+                        .harvest();
                 System.out.println("Language links found via dropdown");
                 pause();
             } catch (Exception e) {
@@ -135,8 +206,9 @@ public class ContentTest {
             if (languageLinks.isEmpty()) {
                 System.out.println("Looking for interlanguage links without clicking");
                 pause();
-                languageLinks = driver.findElements(
-                        By.cssSelector(".interlanguage-link a, .mw-interwiki-container a"));
+                languageLinks = DomHarvest.select(driver(), ".interlanguage-link a, .mw-interwiki-container a")
+                        .attributes("href")
+                        .harvest();
                 System.out.println("Language links found directly");
                 pause();
             }
@@ -145,15 +217,10 @@ public class ContentTest {
             if (languageLinks.isEmpty()) {
                 System.out.println("Looking for links that match language patterns");
                 pause();
-                List<WebElement> allLinks = driver.findElements(By.tagName("a"));
-
-                for (WebElement link : allLinks) {
-                    String href = link.getAttribute("href");
-                    // Look for links to other language versions of Wikipedia
-                    if (href != null && href.matches("https?://[a-z]{2}(\\.m)?\\.wikipedia\\.org/.*")) {
-                        languageLinks.add(link);
-                    }
-                }
+                // Look for links to other language versions of Wikipedia, read in one script call
+                languageLinks = DomHarvest.links(driver())
+                        .hrefMatching("https?://([^/]+/)?[a-z]{2}(\\.m)?\\.wikipedia\\.org/.*")
+                        .harvest();
                 System.out.println("Language links found via pattern");
                 pause();
             }
@@ -163,8 +230,7 @@ public class ContentTest {
 
             // If found any language links, consider test success
             if (!languageLinks.isEmpty()) {
-                WebElement link = languageLinks.get(0);
-                String href = link.getAttribute("href");
+                String href = languageLinks.get(0).href();
                 Assert.assertNotNull(href, "Language link should have href attribute");
                 pause();
                 Assert.assertTrue(href.startsWith("http"),
@@ -191,9 +257,9 @@ public class ContentTest {
     public void testTableOfContents() {
         System.out.println("Test 3: Verify Table of Contents");
         System.out.println("Navigating to article: " + SAMPLE_ARTICLE_URL);
-        driver.get(SAMPLE_ARTICLE_URL);
+        sampleArticle();
 
-        wait.until(ExpectedConditions.or(
+        await().until(ExpectedConditions.or(
                 ExpectedConditions.visibilityOfElementLocated(By.id("toc")),
                 ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".vector-toc, .mw-table-of-contents"))
         ));
@@ -202,10 +268,10 @@ public class ContentTest {
 
         WebElement toc = null;
         try {
-            toc = driver.findElement(By.id("toc"));
+            toc = driver().findElement(By.id("toc"));
         } catch (Exception e) {
             try {
-                toc = driver.findElement(By.cssSelector(".vector-toc, .mw-table-of-contents"));
+                toc = driver().findElement(By.cssSelector(".vector-toc, .mw-table-of-contents"));
             } catch (Exception e2) {
                 System.out.println("Could not find TOC using standard selectors, trying alternative approach");
             }
@@ -217,7 +283,7 @@ public class ContentTest {
             tocLinks = toc.findElements(By.tagName("a"));
             Assert.assertTrue(toc.isDisplayed(), "Table of contents is not displayed");
         } else {
-            tocLinks = driver.findElements(By.cssSelector(".mw-headline"));
+            tocLinks = driver().findElements(By.cssSelector(".mw-headline"));
             Assert.assertTrue(tocLinks.size() > 0, "No headings found in the article");
         }
         pause();
@@ -256,17 +322,17 @@ public class ContentTest {
     public void testExternalLinks() {
         System.out.println("Test 4: Validate External Links");
         System.out.println("Navigating to article: " + SAMPLE_ARTICLE_URL);
-        driver.get(SAMPLE_ARTICLE_URL);
+        sampleArticle();
 
         // Scroll to external links section
         System.out.println("Scrolling to bottom of page");
         pause();
-        JavascriptExecutor js = (JavascriptExecutor) driver;
+        JavascriptExecutor js = (JavascriptExecutor) driver();
         js.executeScript("window.scrollTo(0, document.body.scrollHeight)");
         pause();
 
         try {
-            wait.until(ExpectedConditions.or(
+            await().until(ExpectedConditions.or(
                     ExpectedConditions.visibilityOfElementLocated(By.id("External_links")),
                     ExpectedConditions.visibilityOfElementLocated(By.xpath("//span[contains(text(), 'External links')]")
                     )));
@@ -277,31 +343,27 @@ public class ContentTest {
             pause();
         }
 
-        List<WebElement> externalLinks = new java.util.ArrayList<>();
+        // Read the section's links in one script call instead of one getAttribute per link
+        List<DomHarvest.Harvested> externalLinks = DomHarvest.links(driver())
+                .within("h2:has(#External_links) ~ ul, .mw-heading:has(#External_links) ~ ul")
+                .harvest();
 
-        try {
-            WebElement externalLinksSection = driver.findElement(
-                    By.xpath("//span[@id='External_links']/ancestor::h2/following-sibling::ul[1]")
-            );
-            externalLinks = externalLinksSection.findElements(By.tagName("a"));
+        if (!externalLinks.isEmpty()) {
             System.out.println("Found external links in section");
             pause();
-        } catch (Exception e) {
+        } else {
             try {
-                externalLinks = driver.findElements(By.cssSelector(".external"));
+                externalLinks = DomHarvest.select(driver(), ".external").attributes("href").harvest();
                 if (externalLinks.isEmpty()) {
-                    List<WebElement> allLinks = driver.findElements(By.tagName("a"));
-                    for (WebElement link : allLinks) {
-                        String href = link.getAttribute("href");
-                        if (href != null && href.startsWith("http") && !href.contains("wikipedia.org")) {
-                            externalLinks.add(link);
-                        }
-                    }
+                    externalLinks = DomHarvest.links(driver())
+                            .where(link -> link.href() != null && link.href().startsWith("http")
+                                    && !link.href().contains("wikipedia.org"))
+                            .harvest();
                 }
                 System.out.println("Found external links via generic search");
                 pause();
-            } catch (Exception e2) {
-                System.out.println("Could not find external links: " + e2.getMessage());
+            } catch (Exception e) {
+                System.out.println("Could not find external links: " + e.getMessage());
                 pause();
             }
         }
@@ -311,8 +373,7 @@ public class ContentTest {
         pause();
 
         if (!externalLinks.isEmpty()) {
-            WebElement firstLink = externalLinks.get(0);
-            String href = firstLink.getAttribute("href");
+            String href = externalLinks.get(0).href();
             Assert.assertNotNull(href, "External link should have href attribute");
             pause();
             Assert.assertTrue(href.startsWith("http"), "External link should have valid URL format");
@@ -328,9 +389,9 @@ public class ContentTest {
     public void testImagePresence() {
         System.out.println("Test 5: Check Image Presence");
         System.out.println("Navigating to article: " + SAMPLE_ARTICLE_URL);
-        driver.get(SAMPLE_ARTICLE_URL);
+        sampleArticle();
 
-        List<WebElement> images = driver.findElements(By.cssSelector(".infobox img"));
+        List<WebElement> images = driver().findElements(By.cssSelector(".infobox img"));
         Assert.assertTrue(images.size() > 0, "Article should have at least one image in the infobox");
         pause();
 
@@ -348,31 +409,24 @@ public class ContentTest {
      * Test 6: Validate References Section
      * Ensures that the References section is present and contains at least 5 references.
      */
+    @Structural
     @Test(priority = 6)
     public void testReferencesSection() {
         System.out.println("Test 6: Validate References Section");
         System.out.println("Navigating to article: " + SAMPLE_ARTICLE_URL);
-        driver.get(SAMPLE_ARTICLE_URL);
+        PageView page = structure(SAMPLE_ARTICLE_URL);
 
         // Scroll to the references section
         System.out.println("Scrolling to references section");
-        pause();
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("window.scrollTo(0, document.body.scrollHeight * 0.8)");
-        pause();
+        scrollToReferences(page);
 
-        WebElement referencesSection = wait.until(
-                ExpectedConditions.visibilityOfElementLocated(By.id("References"))
-        );
-        System.out.println("References section is visible");
+        Assert.assertTrue(page.count("#References") > 0, "References section should be present");
+        System.out.println("References section is present");
         pause();
 
-        Assert.assertTrue(referencesSection.isDisplayed(), "References section should be present");
-        pause();
-
-        List<WebElement> references = driver.findElements(By.cssSelector(".references li"));
-        Assert.assertTrue(references.size() >= 5,
-                "References section should have at least 5 references but found " + references.size());
+        int references = page.count(".references li");
+        Assert.assertTrue(references >= 5,
+                "References section should have at least 5 references but found " + references);
         System.out.println("Test 6 SUCCESS: References section validated");
     }
 
@@ -380,29 +434,26 @@ public class ContentTest {
      * Test 7: Check Citation Format
      * Validates that citations in the References section follow a consistent format.
      */
+    @Structural
     @Test(priority = 7)
     public void testCitationFormat() {
         System.out.println("Test 7: Check Citation Format");
         System.out.println("Navigating to article: " + SAMPLE_ARTICLE_URL);
-        driver.get(SAMPLE_ARTICLE_URL);
+        PageView page = structure(SAMPLE_ARTICLE_URL);
 
         // Scroll to the references section
         System.out.println("Scrolling to citations section");
-        pause();
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("window.scrollTo(0, document.body.scrollHeight * 0.8)");
-        pause();
+        scrollToReferences(page);
 
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.className("references")));
+        Assert.assertTrue(page.count(".references") > 0, "References container should be present");
         System.out.println("References container is present");
         pause();
 
-        List<WebElement> citations = driver.findElements(By.cssSelector(".references cite"));
-        Assert.assertTrue(citations.size() > 0, "Citations should use <cite> tags");
+        Assert.assertTrue(page.count(".references cite") > 0, "Citations should use <cite> tags");
         pause();
 
-        List<WebElement> citationLinks = driver.findElements(By.cssSelector(".references a.external"));
-        Assert.assertTrue(citationLinks.size() > 0, "At least one citation should contain external links");
+        Assert.assertTrue(page.count(".references a.external") > 0,
+                "At least one citation should contain external links");
         System.out.println("Test 7 SUCCESS: Citation format validated");
     }
 
@@ -414,9 +465,9 @@ public class ContentTest {
     public void testInfoboxContent() {
         System.out.println("Test 8: Verify Infobox Content");
         System.out.println("Navigating to article: " + SAMPLE_ARTICLE_URL);
-        driver.get(SAMPLE_ARTICLE_URL);
+        sampleArticle();
 
-        WebElement infobox = wait.until(ExpectedConditions.visibilityOfElementLocated(By.className("infobox")));
+        WebElement infobox = await().until(ExpectedConditions.visibilityOfElementLocated(By.className("infobox")));
         System.out.println("Infobox is visible");
         pause();
         Assert.assertTrue(infobox.isDisplayed(), "Infobox should be displayed");
@@ -441,52 +492,33 @@ public class ContentTest {
     public void testRelatedArticles() {
         System.out.println("Test 9: Check Related Articles");
         System.out.println("Navigating to article: " + SAMPLE_ARTICLE_URL);
-        driver.get(SAMPLE_ARTICLE_URL);
+        article().open(SAMPLE_ARTICLE_URL);
 
         // Scroll down to where the "See also" section would typically be
         System.out.println("Scrolling to See also section");
         pause();
-        JavascriptExecutor js = (JavascriptExecutor) driver;
+        JavascriptExecutor js = (JavascriptExecutor) driver();
         js.executeScript("window.scrollTo(0, document.body.scrollHeight * 0.7)");
         pause();
 
         try {
-            boolean seeAlsoFound = false;
-            List<WebElement> relatedLinks = new java.util.ArrayList<>();
+            // Read the section's links in one script call; an empty result means there is no such section
+            List<DomHarvest.Harvested> relatedLinks = DomHarvest.links(driver())
+                    .within("h2:has(#See_also) ~ ul, .mw-heading:has(#See_also) ~ ul")
+                    .harvest();
 
-            try {
-                WebElement seeAlsoHeading = driver.findElement(
-                        By.xpath("//span[@id='See_also' or contains(text(), 'See also')]")
-                );
-
-                if (seeAlsoHeading != null) {
-                    seeAlsoFound = true;
-                    System.out.println("Found See also section");
-                    pause();
-                    WebElement seeAlsoSection = driver.findElement(
-                            By.xpath("//span[@id='See_also' or contains(text(), 'See also')]/ancestor::h2/following-sibling::ul[1]")
-                    );
-                    relatedLinks = seeAlsoSection.findElements(By.tagName("a"));
-                    System.out.println("Related links found in See also section");
-                    pause();
-                }
-            } catch (Exception e) {
+            if (!relatedLinks.isEmpty()) {
+                System.out.println("Related links found in See also section");
+                pause();
+            } else {
                 System.out.println("No standard See also section found, trying alternative approach");
                 pause();
-            }
-
-            if (!seeAlsoFound || relatedLinks.isEmpty()) {
-                List<WebElement> allLinks = driver.findElements(By.tagName("a"));
-                for (WebElement link : allLinks) {
-                    String href = link.getAttribute("href");
-                    if (href != null && href.contains("wikipedia.org/wiki/") &&
-                            !href.contains(SAMPLE_ARTICLE_URL.substring(SAMPLE_ARTICLE_URL.lastIndexOf('/') + 1))) {
-                        relatedLinks.add(link);
-                        if (relatedLinks.size() >= 5) {
-                            break;
-                        }
-                    }
-                }
+                String articleTitle = SAMPLE_ARTICLE_URL.substring(SAMPLE_ARTICLE_URL.lastIndexOf('/') + 1);
+                relatedLinks = DomHarvest.links(driver())
+                        .where(link -> link.href() != null && link.href().contains("wikipedia.org/wiki/")
+                                && !link.href().contains(articleTitle))
+                        .limit(5)
+                        .harvest();
                 System.out.println("Related links found via generic search");
                 pause();
             }
@@ -495,8 +527,7 @@ public class ContentTest {
             pause();
 
             if (!relatedLinks.isEmpty()) {
-                WebElement firstLink = relatedLinks.get(0);
-                String href = firstLink.getAttribute("href");
+                String href = relatedLinks.get(0).href();
                 Assert.assertNotNull(href, "Related article link should have href attribute");
                 pause();
                 Assert.assertTrue(href.contains("wikipedia.org/wiki/"),
@@ -519,27 +550,27 @@ public class ContentTest {
     public void testPageFooter() {
         System.out.println("Test 10: Validate Page Footer");
         System.out.println("Navigating to article: " + SAMPLE_ARTICLE_URL);
-        driver.get(SAMPLE_ARTICLE_URL);
+        article().open(SAMPLE_ARTICLE_URL);
 
-        JavascriptExecutor js = (JavascriptExecutor) driver;
+        JavascriptExecutor js = (JavascriptExecutor) driver();
         System.out.println("Scrolling to bottom of page for footer");
         js.executeScript("window.scrollTo(0, document.body.scrollHeight)");
         pause();
 
         WebElement footer;
         try {
-            footer = wait.until(ExpectedConditions.visibilityOfElementLocated(
+            footer = await().until(ExpectedConditions.visibilityOfElementLocated(
                     By.cssSelector("#footer, .mw-footer, footer")));
             System.out.println("Footer is visible");
             pause();
             String footerText = footer.getText().toLowerCase();
 
             boolean hasPrivacyPolicy = footerText.contains("privacy") ||
-                    driver.findElements(By.linkText("Privacy policy")).size() > 0;
+                    driver().findElements(By.linkText("Privacy policy")).size() > 0;
             boolean hasTerms = footerText.contains("terms") ||
-                    driver.findElements(By.partialLinkText("Terms of Use")).size() > 0;
+                    driver().findElements(By.partialLinkText("Terms of Use")).size() > 0;
             boolean hasAbout = footerText.contains("about wikipedia") ||
-                    driver.findElements(By.partialLinkText("About")).size() > 0;
+                    driver().findElements(By.partialLinkText("About")).size() > 0;
             pause();
 
             Assert.assertTrue(hasPrivacyPolicy, "Footer should contain link to Privacy Policy");
@@ -549,7 +580,7 @@ public class ContentTest {
             boolean hasCopyright = footerText.contains("©") ||
                     footerText.contains("copyright") ||
                     footerText.contains("wikimedia foundation") ||
-                    driver.findElements(By.cssSelector(".copyright")).size() > 0;
+                    driver().findElements(By.cssSelector(".copyright")).size() > 0;
             pause();
 
             Assert.assertTrue(hasCopyright, "Footer should contain copyright information");
@@ -557,13 +588,13 @@ public class ContentTest {
         } catch (Exception e) {
             System.out.println("Could not find standard footer, looking for footer elements directly");
             pause();
-            List<WebElement> allLinks = driver.findElements(By.tagName("a"));
+            List<DomHarvest.Harvested> allLinks = DomHarvest.links(driver()).harvest();
             boolean hasPrivacyLink = false;
             boolean hasTermsLink = false;
             boolean hasAboutLink = false;
 
-            for (WebElement link : allLinks) {
-                String text = link.getText().toLowerCase();
+            for (DomHarvest.Harvested link : allLinks) {
+                String text = link.text().toLowerCase();
                 if (text.contains("privacy")) {
                     hasPrivacyLink = true;
                 } else if (text.contains("terms")) {
@@ -587,9 +618,10 @@ public class ContentTest {
     public void tearDown() {
         System.out.println("AfterClass: closing browser session");
         pause();
-        if (driver != null) {
-            driver.quit();
+        if (tabs != null && ThreadSessions.hasSession()) {
+            tabs.closeAll();
         }
-        System.out.println("AfterClass: browser closed");
+        ThreadSessions.release();
+        System.out.println("AfterClass: browser returned to pool");
     }
 }
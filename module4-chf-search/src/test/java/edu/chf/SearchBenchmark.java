@@ -0,0 +1,128 @@
+package edu.chf;
+
+import edu.shared.Settings;
+import edu.shared.metrics.LatencyReport;
+import edu.shared.page.ArticlePage;
+import edu.shared.page.PortalPage;
+import edu.shared.session.ThreadSessions;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Search latency benchmark, run with {@code -Dsuite.file=benchmark.xml} (best against the stand-in,
+ * {@code -Dwiki.target=standin}).
+ * <p>
+ * Every line of the query corpus ({@code bench.corpus}, default {@code search-corpus.tsv} on the test
+ * classpath; {@code class<TAB>query}) is submitted from the portal on a pooled session, and the time from
+ * submit until the landing page's content is present is recorded under its query class. The corpus is
+ * read lazily, so it can be far larger than memory would like; {@code bench.limit} stops after that many
+ * queries. Percentiles per class are printed at the end and written to {@code target/perf/search-bench}.
+ */
+public class SearchBenchmark {
+
+    private static final LatencyReport LATENCY = new LatencyReport("SearchBenchmark");
+
+    @DataProvider(name = "corpus", parallel = true)
+    public Iterator<Object[]> corpus() {
+        return new CorpusIterator(open(), Settings.integer("bench.limit", Integer.MAX_VALUE));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        ThreadSessions.release();
+    }
+
+    @AfterClass
+    public void report() {
+        LATENCY.write(Path.of("target", "perf", "search-bench"));
+    }
+
+    @Test(dataProvider = "corpus", description = "Submit-to-results latency of one corpus query")
+    public void search(String queryClass, String query) {
+        WebElement input = new PortalPage(ThreadSessions.driver(), ThreadSessions.await()).open().searchInput();
+        input.sendKeys(query);
+        long start = System.nanoTime();
+        input.submit();
+        // An exact match lands on the article, everything else on Special:Search; both render the content area
+        new ArticlePage(ThreadSessions.driver(), ThreadSessions.await()).ready();
+        LATENCY.record(queryClass, start);
+    }
+
+    private static BufferedReader open() {
+        String configured = Settings.string("bench.corpus", null);
+        try {
+            InputStream in = configured != null ? Files.newInputStream(Path.of(configured))
+                    : SearchBenchmark.class.getResourceAsStream("/search-corpus.tsv");
+            if (in == null) {
+                throw new IllegalStateException("Missing search-corpus.tsv on the test classpath");
+            }
+            return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the query corpus " + configured, e);
+        }
+    }
+
+    /**
+     * Reads one {@code class<TAB>query} line per {@link #next()} and closes the file at the end.
+     */
+    private static final class CorpusIterator implements Iterator<Object[]> {
+
+        private final BufferedReader reader;
+        private int remaining;
+        private Object[] next;
+
+        private CorpusIterator(BufferedReader reader, int limit) {
+            this.reader = reader;
+            this.remaining = limit;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            if (next == null && remaining > 0) {
+                next = read();
+            }
+            return next != null;
+        }
+
+        @Override
+        public synchronized Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] row = next;
+            next = null;
+            remaining--;
+            return row;
+        }
+
+        private Object[] read() {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] columns = line.split("\t", 2);
+                    if (!line.startsWith("#") && columns.length == 2 && !columns[1].isBlank()) {
+                        return new Object[]{columns[0].trim(), columns[1].trim()};
+                    }
+                }
+                reader.close();
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read the query corpus", e);
+            }
+        }
+    }
+}
@@ -1,87 +1,94 @@
 package edu.chf;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import edu.shared.WikiUrls;
+import edu.shared.http.Hybrid;
+import edu.shared.http.Structural;
+import edu.shared.metrics.SuggestLatency;
+import edu.shared.net.BlockResources;
+import edu.shared.net.ResourceType;
+import edu.shared.page.ArticlePage;
+import edu.shared.page.PortalPage;
+import edu.shared.page.SearchResultsPage;
+import edu.shared.pacing.Pacing;
+import edu.shared.session.ThreadSessions;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
-import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import java.time.Duration;
+import java.lang.reflect.Method;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 
+// Search checks only look at titles, inputs and result containers; images and fonts are skipped
+@BlockResources({ResourceType.IMAGES, ResourceType.FONTS, ResourceType.MEDIA, ResourceType.ANALYTICS})
 public class SearchTest {
-    private WebDriver driver;
-    private WebDriverWait wait;
-
-    private static final String BASE_URL = "https://www.wikipedia.org/";
-
-    // Add a constant for the delay between actions
+    // Delay between actions in demo mode; skipped with -Dpacing.mode=fast
     private static final int ACTION_DELAY_MS = 2000; // 2 seconds delay
 
     // Helper method to add delay between actions
     private void delayBetweenActions() {
-        try {
-            Thread.sleep(ACTION_DELAY_MS);
-        } catch (InterruptedException e) {
-            System.out.println("Sleep interrupted: " + e.getMessage());
-        }
+        Pacing.pause("search", ACTION_DELAY_MS);
+    }
+
+    // Each worker thread owns its session, so parallel test methods never share a driver
+    private WebDriver driver() {
+        return ThreadSessions.driver();
+    }
+
+    private WebDriverWait await() {
+        return ThreadSessions.await();
+    }
+
+    // Page objects resolve each locator once per page load
+    private PortalPage portal() {
+        return new PortalPage(driver(), await());
     }
 
-    @BeforeClass
-    public static void globalSetup() {
-        WebDriverManager.chromedriver().setup();
+    // Where the portal's search form submits to
+    private static String searchRedirect(String query) {
+        return WikiUrls.portal() + "search-redirect.php?family=wikipedia&language=en&go=Go&search="
+                + URLEncoder.encode(query, StandardCharsets.UTF_8);
     }
 
     @BeforeMethod
-    public void setUp() {
-        ChromeOptions options = new ChromeOptions().addArguments("--start-maximized");
-        // For CI, consider headless options:
-        // options.addArguments("--headless=new", "--disable-gpu", "--no-sandbox", "--window-size=1920,1080");
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+    public void setUp(Method method) {
+        // Structural tests in hybrid mode (-Dhybrid=true) read fetched HTML and need no browser
+        if (Hybrid.isBrowserless(method)) {
+            return;
+        }
+        // For CI, run headless with -Dbrowser.profile=lean (or mvn test -Plean)
+        ThreadSessions.driver();
     }
 
     @AfterMethod
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
+        ThreadSessions.release();
     }
 
     @Test(priority = 1, description = "Basic search for Albert Einstein")
     public void testBasicSearch() {
-        driver.get(BASE_URL);
-        WebElement searchInput = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput"))
-        );
+        WebElement searchInput = portal().open().searchInput();
         searchInput.sendKeys("Albert Einstein");
         delayBetweenActions();
         searchInput.submit();
-        wait.until(ExpectedConditions.titleContains("Albert Einstein"));
-        Assert.assertTrue(driver.getTitle().contains("Albert Einstein"),
+        await().until(ExpectedConditions.titleContains("Albert Einstein"));
+        Assert.assertTrue(driver().getTitle().contains("Albert Einstein"),
                 "Page title should contain 'Albert Einstein'");
         delayBetweenActions();
     }
 
     @Test(priority = 2, description = "Search with multiple keywords")
     public void testSearchWithMultipleKeywords() {
-        driver.get(BASE_URL);
-        WebElement searchInput = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput"))
-        );
-        delayBetweenActions();
-        searchInput.sendKeys("quantum physics nobel prize");
+        PortalPage portal = portal().open();
         delayBetweenActions();
-        searchInput.submit();
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.className("mw-search-results")));
-        String text = driver.findElement(By.className("mw-search-results")).getText().toLowerCase();
+        portal.search("quantum physics nobel prize");
+        String text = new SearchResultsPage(driver(), await()).ready().results().getText().toLowerCase();
         Assert.assertTrue(
                 text.contains("quantum") || text.contains("physics") || text.contains("nobel"),
                 "Results should contain at least one keyword"
@@ -90,53 +97,39 @@ public class SearchTest {
 
     @Test(priority = 3, description = "Search with special characters (C++)")
     public void testSearchWithSpecialCharacters() {
-        driver.get(BASE_URL);
-        WebElement searchInput = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput"))
-        );
+        WebElement searchInput = portal().open().searchInput();
         delayBetweenActions();
         searchInput.sendKeys("C++");
         delayBetweenActions();
         delayBetweenActions();
         searchInput.submit();
-        wait.until(ExpectedConditions.or(
+        await().until(ExpectedConditions.or(
                 ExpectedConditions.titleContains("C++"),
                 ExpectedConditions.presenceOfElementLocated(By.className("mw-search-results"))
         ));
-        String body = driver.findElement(By.tagName("body")).getText();
-        boolean pageOK = driver.getTitle().contains("C++");
-        boolean resultsOK = driver.findElements(By.className("mw-search-results")).size() > 0;
+        String body = driver().findElement(By.tagName("body")).getText();
+        boolean pageOK = driver().getTitle().contains("C++");
+        boolean resultsOK = driver().findElements(By.className("mw-search-results")).size() > 0;
         Assert.assertTrue(pageOK || resultsOK,
                 "Should find C++ page or search results");
     }
 
     @Test(priority = 4, description = "Search suggestions appear on typing")
     public void testSearchSuggestions() {
-        driver.get(BASE_URL);
-        WebElement searchInput = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput"))
-        );
-        for (char c : "United Stat".toCharArray()) {
-            searchInput.sendKeys(String.valueOf(c));
-            try { Thread.sleep(300); } catch (InterruptedException ignored) {}
-        }
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.className("suggestion-link")));
-        Assert.assertTrue(
-                driver.findElement(By.className("suggestion-link")).isDisplayed(),
-                "Suggestions should be displayed"
-        );
+        PortalPage portal = portal().open();
+        // Times every keystroke's suggestion update in the page; see target/perf/suggest-latency.tsv
+        SuggestLatency.Result latency = portal.typeAhead("United Stat");
+        Assert.assertTrue(latency.settled(), "Suggestions should update after the last keystroke: " + latency.summary());
+        Assert.assertTrue(portal.firstSuggestion().isDisplayed(), "Suggestions should be displayed");
     }
 
     @Test(priority = 5, description = "Submit an empty search and verify behavior")
     public void testEmptySearch() {
         // Go to main page
-        driver.get("https://www.wikipedia.org/");
-        WebElement searchInput = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput"))
-        );
+        WebElement searchInput = portal().open().searchInput();
 
         // Capture original URL
-        String originalUrl = driver.getCurrentUrl();
+        String originalUrl = driver().getCurrentUrl();
 
         // Clear and submit empty search
         searchInput.clear();
@@ -144,12 +137,12 @@ public class SearchTest {
         searchInput.submit();
 
         // Wait until either staying on the same URL or landing on search results page
-        wait.until(ExpectedConditions.or(
+        await().until(ExpectedConditions.or(
                 ExpectedConditions.urlToBe(originalUrl),
                 ExpectedConditions.urlContains("Special:Search")
         ));
 
-        String currentUrl = driver.getCurrentUrl();
+        String currentUrl = driver().getCurrentUrl();
         delayBetweenActions();
 
         // Assert that behavior matches one of two acceptable outcomes
@@ -162,35 +155,28 @@ public class SearchTest {
 
     @Test(priority = 6, description = "Search in Spanish Wikipedia")
     public void testSearchInDifferentLanguage() {
-        driver.get("https://es.wikipedia.org/");
-        WebElement searchInput = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput"))
-        );
+        WebElement searchInput = new ArticlePage(driver(), await())
+                .open(WikiUrls.origin("es.wikipedia.org") + "/")
+                .searchInput();
         searchInput.sendKeys("Madrid");
         searchInput.submit();
-        wait.until(ExpectedConditions.titleContains("Madrid"));
-        String content = driver.findElement(By.id("mw-content-text")).getText().toLowerCase();
+        await().until(ExpectedConditions.titleContains("Madrid"));
+        String content = driver().findElement(By.id("mw-content-text")).getText().toLowerCase();
         Assert.assertTrue(content.contains("españa") || content.contains("capital"),
                 "Content should be in Spanish about Madrid");
     }
 
     @Test(priority = 7, description = "Search with quotation marks for exact phrase")
     public void testSearchWithQuotationMarks() {
-        driver.get(BASE_URL);
-        WebElement searchInput = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput"))
-        );
-        String phrase = "\"to be or not to be\"";
-        for (char c : phrase.toCharArray()) {
-            searchInput.sendKeys(String.valueOf(c));
-        }
+        // The whole phrase in one input call; this test does not measure typing
+        WebElement searchInput = portal().open().fillSearch("\"to be or not to be\"");
         delayBetweenActions();
         searchInput.submit();
-        wait.until(ExpectedConditions.or(
+        await().until(ExpectedConditions.or(
                 ExpectedConditions.titleContains("To be, or not to be"),
                 ExpectedConditions.presenceOfElementLocated(By.className("mw-search-results"))
         ));
-        String body = driver.findElement(By.tagName("body")).getText().toLowerCase();
+        String body = driver().findElement(By.tagName("body")).getText().toLowerCase();
         Assert.assertTrue(
                 body.contains("to be or not to be"),
                 "Results should contain the exact phrase 'to be or not to be'"
@@ -200,61 +186,68 @@ public class SearchTest {
 
     @Test(priority = 8, description = "Search with numbers and dates (World War 1914)")
     public void testSearchWithNumbersAndDates() {
-        driver.get(BASE_URL);
-        WebElement searchInput = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput"))
-        );
+        WebElement searchInput = portal().open().searchInput();
         searchInput.sendKeys("World War 1914");
         delayBetweenActions();
         searchInput.submit();
-        wait.until(ExpectedConditions.or(
+        await().until(ExpectedConditions.or(
                 ExpectedConditions.titleContains("World War"),
                 ExpectedConditions.presenceOfElementLocated(By.className("mw-search-results"))
         ));
-        String body = driver.findElement(By.tagName("body")).getText();
+        String body = driver().findElement(By.tagName("body")).getText();
         Assert.assertTrue(
                 body.contains("world war") && (body.contains("1914") || body.contains("wwi") || body.contains("first world war")),
                 "Results should mention World War I"
         );
     }
 
+    @Structural
     @Test(priority = 9, description = "Search case sensitivity check via canonical URL")
     public void testSearchCaseSensitivity() {
-        driver.get(BASE_URL);
+        String canonicalLower;
+        String canonicalUpper;
+        if (Hybrid.enabled()) {
+            // The request the portal's search form ends in, both cases fetched at once
+            String lower = searchRedirect("python programming");
+            String upper = searchRedirect("Python Programming");
+            Hybrid.prefetch(lower, upper);
+            canonicalLower = Hybrid.fetch(lower).first("link[rel='canonical']", "href").orElseThrow().href();
+            canonicalUpper = Hybrid.fetch(upper).first("link[rel='canonical']", "href").orElseThrow().href();
+        } else {
+            PortalPage portal = portal().open();
 
-        // Lower‑case search
-        WebElement input1 = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput")));
-        input1.clear();
-        input1.sendKeys("python programming");
-        input1.submit();
-        // Wait until either article or results page loads
-        wait.until(ExpectedConditions.or(
-                ExpectedConditions.titleContains("Python"),
-                ExpectedConditions.presenceOfElementLocated(By.className("mw-search-results"))
-        ));
+            // Lower‑case search
+            WebElement input1 = portal.searchInput();
+            input1.clear();
+            input1.sendKeys("python programming");
+            input1.submit();
+            // Wait until either article or results page loads
+            await().until(ExpectedConditions.or(
+                    ExpectedConditions.titleContains("Python"),
+                    ExpectedConditions.presenceOfElementLocated(By.className("mw-search-results"))
+            ));
 
-        // Grab canonical URL from page <head>
-        String canonicalLower = driver
-                .findElement(By.cssSelector("link[rel='canonical']"))
-                .getAttribute("href");
+            // Grab canonical URL from page <head>
+            canonicalLower = driver()
+                    .findElement(By.cssSelector("link[rel='canonical']"))
+                    .getAttribute("href");
 
-        // Back to home and upper‑case search
-        driver.get(BASE_URL);
+            // Back to home and upper‑case search
+            portal.open();
 
-        WebElement input2 = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput")));
-        input2.clear();
-        input2.sendKeys("Python Programming");
-        input2.submit();
-        wait.until(ExpectedConditions.or(
-                ExpectedConditions.titleContains("Python"),
-                ExpectedConditions.presenceOfElementLocated(By.className("mw-search-results"))
-        ));
+            WebElement input2 = portal.searchInput();
+            input2.clear();
+            input2.sendKeys("Python Programming");
+            input2.submit();
+            await().until(ExpectedConditions.or(
+                    ExpectedConditions.titleContains("Python"),
+                    ExpectedConditions.presenceOfElementLocated(By.className("mw-search-results"))
+            ));
 
-        String canonicalUpper = driver
-                .findElement(By.cssSelector("link[rel='canonical']"))
-                .getAttribute("href");
+            canonicalUpper = driver()
+                    .findElement(By.cssSelector("link[rel='canonical']"))
+                    .getAttribute("href");
+        }
 
         // Assert that both searches arrive at same canonical resource
         Assert.assertEquals(
@@ -266,19 +259,16 @@ public class SearchTest {
 
     @Test(priority = 10, description = "Misspelled search suggestion or redirect for Einstein")
     public void testMisspelledSearch() {
-        driver.get(BASE_URL);
-        WebElement searchInput = wait.until(
-                ExpectedConditions.elementToBeClickable(By.id("searchInput"))
-        );
+        WebElement searchInput = portal().open().searchInput();
         searchInput.sendKeys("Albrt Einstien");
         delayBetweenActions();
         searchInput.submit();
-        wait.until(ExpectedConditions.or(
+        await().until(ExpectedConditions.or(
                 ExpectedConditions.titleContains("Einstein"),
                 ExpectedConditions.presenceOfElementLocated(By.className("mw-search-results"))
         ));
         delayBetweenActions();
-        String body = driver.findElement(By.tagName("body")).getText();
+        String body = driver().findElement(By.tagName("body")).getText();
         Assert.assertTrue(
                 body.toLowerCase().contains("einstein"),
                 "Misspelled search should include suggestions or content about 'Einstein'"
@@ -0,0 +1,284 @@
+package edu.standin;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What the stand-in knows: the wikis it serves, the hand-written fixture articles, title aliases,
+ * and a small search index that backs {@code Special:Search} and the opensearch suggestions.
+ * Titles that are not in the catalog are still served as generated articles.
+ */
+final class Catalog {
+
+    record Site(String host, String lang, String mainPage, String mainPageTitle, String titleSuffix) {
+    }
+
+    record Article(String title, String fixture, List<String> categories, Map<String, String> langLinks) {
+    }
+
+    record Entry(String host, String title, String snippet) {
+    }
+
+    private static final Map<String, Site> SITES = Map.of(
+            "en.wikipedia.org", new Site("en.wikipedia.org", "en", "Main_Page",
+                    "Wikipedia, the free encyclopedia", " - Wikipedia"),
+            "es.wikipedia.org", new Site("es.wikipedia.org", "es", "Wikipedia:Portada",
+                    "Wikipedia, la enciclopedia libre", " - Wikipedia, la enciclopedia libre"),
+            "fr.wikipedia.org", new Site("fr.wikipedia.org", "fr", "Wikipédia:Accueil_principal",
+                    "Wikipédia, l'encyclopédie libre", " — Wikipédia"));
+
+    private final Map<String, Article> articles = new LinkedHashMap<>();
+    private final Map<String, String> aliases = new LinkedHashMap<>();
+    private final List<Entry> index = new ArrayList<>();
+    private final AtomicInteger randomCursor = new AtomicInteger();
+
+    Catalog() {
+        add("en.wikipedia.org", new Article("Main_Page", "en/main_page.html", List.of(), Map.of()));
+        add("en.wikipedia.org", new Article("Selenium_(software)", "en/selenium.html",
+                List.of("Software testing tools", "Free software programmed in Java", "Web scraping"),
+                langLinks("de", "Selenium_(Software)", "es", "Selenium", "fr", "Selenium_(informatique)",
+                        "ja", "Selenium", "pt", "Selenium_(software)")));
+        add("en.wikipedia.org", new Article("Java_(programming_language)", "en/java.html",
+                List.of("Java (programming language)", "Class-based programming languages",
+                        "Concurrent programming languages", "Programming languages created in 1995"),
+                langLinks("de", "Java_(Programmiersprache)", "es", "Java_(lenguaje_de_programación)",
+                        "fr", "Java_(langage)", "it", "Java_(linguaggio_di_programmazione)",
+                        "ja", "Java", "pt", "Java_(linguagem_de_programação)", "ru", "Java",
+                        "zh", "Java", "pl", "Java", "nl", "Java_(programmeertaal)", "sv", "Java_(programspråk)")));
+        add("es.wikipedia.org", new Article("Wikipedia:Portada", "es/portada.html", List.of(), Map.of()));
+        add("es.wikipedia.org", new Article("Madrid", "es/madrid.html",
+                List.of("Madrid", "Capitales de Europa", "Municipios de la Comunidad de Madrid"),
+                langLinks("en", "Madrid", "fr", "Madrid", "de", "Madrid")));
+        add("fr.wikipedia.org", new Article("Selenium_(informatique)", "fr/selenium.html",
+                List.of("Logiciel libre sous licence Apache", "Test logiciel"),
+                langLinks("en", "Selenium_(software)", "es", "Selenium")));
+
+        aliases.put(key("en.wikipedia.org", "python programming"), "Python_(programming_language)");
+        aliases.put(key("en.wikipedia.org", "java"), "Java_(programming_language)");
+        aliases.put(key("en.wikipedia.org", "einstein"), "Albert_Einstein");
+        aliases.put(key("en.wikipedia.org", "ww1"), "World_War_I");
+        loadIndex();
+    }
+
+    Site site(String host) {
+        Site site = SITES.get(host);
+        if (site == null && host.endsWith(".wikipedia.org") && !host.startsWith("www.")) {
+            // Any other language edition is served with generated pages
+            String lang = host.substring(0, host.indexOf('.'));
+            site = new Site(host, lang, "Main_Page", "Wikipedia", " - Wikipedia");
+        }
+        return site;
+    }
+
+    Optional<Article> article(String host, String title) {
+        return Optional.ofNullable(articles.get(key(host, title)));
+    }
+
+    Optional<String> snippet(String host, String title) {
+        String normalized = normalize(title);
+        return index.stream()
+                .filter(e -> e.host().equals(host) && normalize(e.title()).equals(normalized))
+                .map(Entry::snippet)
+                .findFirst();
+    }
+
+    /**
+     * The title a "Go" search jumps to directly, if the query names an article exactly.
+     */
+    Optional<String> exactTitle(String host, String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        String alias = aliases.get(host + "|" + normalized);
+        if (alias != null) {
+            return Optional.of(alias);
+        }
+        for (String title : titles(host)) {
+            if (normalize(title).equals(normalized)) {
+                return Optional.of(title.replace(' ', '_'));
+            }
+        }
+        return Optional.empty();
+    }
+
+    List<Entry> search(String host, String query) {
+        String phrase = normalize(query.replace("\"", ""));
+        List<String> words = new ArrayList<>();
+        for (String word : phrase.split("\\s+")) {
+            if (word.length() >= 2) {
+                words.add(word);
+            }
+        }
+        List<Map.Entry<Entry, Integer>> scored = new ArrayList<>();
+        for (Entry entry : index) {
+            if (!entry.host().equals(host)) {
+                continue;
+            }
+            String haystack = normalize(entry.title() + " " + entry.snippet());
+            int score = haystack.contains(phrase) && !phrase.isEmpty() ? 10 : 0;
+            for (String word : words) {
+                if (haystack.contains(word)) {
+                    score++;
+                }
+            }
+            if (score > 0) {
+                scored.add(Map.entry(entry, score));
+            }
+        }
+        scored.sort(Map.Entry.<Entry, Integer>comparingByValue().reversed());
+        List<Entry> results = new ArrayList<>();
+        for (Map.Entry<Entry, Integer> hit : scored) {
+            results.add(hit.getKey());
+            if (results.size() == 20) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * A close spelling of an indexed title, for the "Did you mean" line on the results page.
+     */
+    Optional<String> didYouMean(String host, String query) {
+        String normalized = normalize(query);
+        if (normalized.length() < 4) {
+            return Optional.empty();
+        }
+        int limit = Math.max(2, normalized.length() / 4);
+        String best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (String title : titles(host)) {
+            int distance = levenshtein(normalized, normalize(title));
+            if (distance > 0 && distance <= limit && distance < bestDistance) {
+                best = normalize(title);
+                bestDistance = distance;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    List<Entry> suggest(String host, String prefix, int limit) {
+        String normalized = normalize(prefix);
+        List<Entry> matches = new ArrayList<>();
+        for (Entry entry : index) {
+            if (entry.host().equals(host) && normalize(entry.title()).startsWith(normalized)) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Comparator.comparingInt(e -> e.title().length()));
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+
+    /**
+     * Cycles through the indexed English titles so "Random article" is repeatable run to run.
+     */
+    String randomTitle() {
+        List<String> titles = new ArrayList<>();
+        for (Entry entry : index) {
+            if (entry.host().equals("en.wikipedia.org")) {
+                titles.add(entry.title());
+            }
+        }
+        return titles.get(Math.floorMod(randomCursor.getAndIncrement(), titles.size())).replace(' ', '_');
+    }
+
+    static String normalize(String title) {
+        return title.replace('_', ' ').trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    static String display(String title) {
+        return title.replace('_', ' ');
+    }
+
+    /**
+     * Encodes a title for use in a {@code /wiki/} path the way MediaWiki does.
+     */
+    static String path(String title) {
+        return URLEncoder.encode(title.replace(' ', '_'), StandardCharsets.UTF_8)
+                .replace("%28", "(").replace("%29", ")").replace("%3A", ":")
+                .replace("%2C", ",").replace("%2F", "/");
+    }
+
+    private List<String> titles(String host) {
+        List<String> titles = new ArrayList<>();
+        for (Map.Entry<String, Article> entry : articles.entrySet()) {
+            if (entry.getKey().startsWith(host + "|")) {
+                titles.add(entry.getValue().title());
+            }
+        }
+        for (Entry entry : index) {
+            if (entry.host().equals(host)) {
+                titles.add(entry.title());
+            }
+        }
+        return titles;
+    }
+
+    private void add(String host, Article article) {
+        articles.put(key(host, article.title()), article);
+    }
+
+    private static String key(String host, String title) {
+        return host + "|" + normalize(title);
+    }
+
+    private static Map<String, String> langLinks(String... pairs) {
+        Map<String, String> links = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            links.put(pairs[i], pairs[i + 1]);
+        }
+        return links;
+    }
+
+    private void loadIndex() {
+        try (InputStream in = Catalog.class.getResourceAsStream("/standin/search-index.tsv")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing /standin/search-index.tsv");
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t", 3);
+                index.add(new Entry(columns[0], columns[1], columns[2]));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,207 @@
+package edu.standin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders stand-in pages with a Vector-2022-like skin. The element structure (header, page
+ * container, {@code main}, {@code #bodyContent}, {@code #mw-content-text}) mirrors the live site
+ * closely enough that the absolute XPaths used by the tests resolve to the same elements.
+ */
+final class Skin {
+
+    /** Everything a wiki page needs besides the shared chrome. */
+    record Page(Catalog.Site site, String subject, String pageTitle, String heading, String content,
+                boolean toc, boolean tabs, List<String> categories, Map<String, String> langLinks,
+                String user) {
+    }
+
+    private static final Pattern HEADLINE = Pattern.compile(
+            "<h([23])><span class=\"mw-headline\" id=\"([^\"]+)\">([^<]+)</span></h[23]>");
+
+    private static final Map<String, String> RESOURCES = new ConcurrentHashMap<>();
+
+    private final String base;
+
+    Skin(String base) {
+        this.base = base;
+    }
+
+    String render(Page page) {
+        Catalog.Site site = page.site();
+        String sitePath = "/" + site.host();
+        return fill(resource("skin.html"), Map.ofEntries(
+                Map.entry("lang", site.lang()),
+                Map.entry("pageTitle", escape(page.pageTitle())),
+                Map.entry("canonical", base + sitePath + "/wiki/" + Catalog.path(page.subject())),
+                Map.entry("mainPage", Catalog.path(site.mainPage())),
+                Map.entry("heading", escape(page.heading())),
+                Map.entry("siteSub", site.lang().equals("en") ? "From Wikipedia, the free encyclopedia" : ""),
+                Map.entry("userLinks", userLinks(page)),
+                Map.entry("toc", page.toc() ? toc(page.content()) : ""),
+                Map.entry("tabs", page.tabs() ? tabs(page) : ""),
+                Map.entry("langButton", langButton(page.langLinks())),
+                Map.entry("content", page.content()),
+                Map.entry("catlinks", catlinks(page)),
+                Map.entry("site", sitePath)));
+    }
+
+    /**
+     * Loads a fixture from {@code /standin} and fills in the site-relative link prefix.
+     */
+    String fixture(String name, String host) {
+        return fill(resource(name), Map.of("site", "/" + host, "base", base));
+    }
+
+    static String resource(String name) {
+        return RESOURCES.computeIfAbsent(name, n -> {
+            try (InputStream in = Skin.class.getResourceAsStream("/standin/" + n)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing stand-in fixture /standin/" + n);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    static String fill(String template, Map<String, String> values) {
+        StringBuilder out = new StringBuilder(template.length() + 1024);
+        int from = 0;
+        while (true) {
+            int open = template.indexOf("{{", from);
+            int close = open < 0 ? -1 : template.indexOf("}}", open);
+            if (close < 0) {
+                out.append(template, from, template.length());
+                return out.toString();
+            }
+            String key = template.substring(open + 2, close);
+            String value = values.get(key);
+            out.append(template, from, open).append(value != null ? value : "{{" + key + "}}");
+            from = close + 2;
+        }
+    }
+
+    static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String userLinks(Page page) {
+        String site = "/" + page.site().host();
+        if (page.user() == null) {
+            return """
+                            <div id="p-vector-user-menu-overflow" class="vector-menu">
+                                <ul>
+                                    <li id="pt-createaccount-2"><a href="%1$s/w/index.php?title=Special:CreateAccount&amp;returnto=%2$s">Create account</a></li>
+                                    <li id="pt-login-2"><a href="%1$s/w/index.php?title=Special:UserLogin&amp;returnto=%2$s" accesskey="o">Log in</a></li>
+                                </ul>
+                            </div>""".formatted(site, Catalog.path(page.subject()));
+        }
+        return """
+                            <div id="p-vector-user-menu-userpage" class="vector-menu">
+                                <ul>
+                                    <li id="pt-userpage-2"><a href="%1$s/wiki/User:%2$s"><span>%3$s</span></a></li>
+                                </ul>
+                            </div>
+                            <div id="vector-user-links-dropdown" class="vector-dropdown">
+                                <input type="checkbox" id="vector-user-links-dropdown-checkbox" class="vector-dropdown-checkbox" aria-label="Personal tools">
+                                <label for="vector-user-links-dropdown-checkbox" class="vector-dropdown-label">&#9662;</label>
+                                <div class="vector-dropdown-content" style="right: 0">
+                                    <ul>
+                                        <li id="pt-mycontris"><a href="%1$s/wiki/Special:Contributions/%2$s">Contributions</a></li>
+                                        <li id="pt-preferences"><a href="%1$s/wiki/Special:Preferences">Preferences</a></li>
+                                        <li id="pt-logout"><a href="%1$s/w/index.php?title=Special:UserLogout&amp;returnto=%4$s">Log out</a></li>
+                                    </ul>
+                                </div>
+                            </div>""".formatted(site, Catalog.path(page.user()), escape(page.user()),
+                Catalog.path(page.subject()));
+    }
+
+    private static String tabs(Page page) {
+        String site = "/" + page.site().host();
+        String subject = page.subject();
+        String article = subject.startsWith("Talk:") ? subject.substring("Talk:".length()) : subject;
+        String path = Catalog.path(article);
+        return """
+                    <ul id="p-associated-pages" class="vector-menu-tabs">
+                        <li id="ca-nstab-main" class="%3$s"><a href="%1$s/wiki/%2$s">Article</a></li>
+                        <li id="ca-talk" class="%4$s"><a href="%1$s/wiki/Talk:%2$s" rel="discussion">Talk</a></li>
+                    </ul>
+                    <ul id="p-views" class="vector-menu-tabs">
+                        <li id="ca-view" class="selected"><a href="%1$s/wiki/%5$s">Read</a></li>
+                        <li id="ca-edit"><a href="%1$s/w/index.php?title=%5$s&amp;action=edit">Edit</a></li>
+                        <li id="ca-history"><a href="%1$s/w/index.php?title=%5$s&amp;action=history">View history</a></li>
+                    </ul>""".formatted(site, path,
+                subject.equals(article) ? "selected" : "", subject.equals(article) ? "" : "selected",
+                Catalog.path(subject));
+    }
+
+    private static String toc(String content) {
+        StringBuilder items = new StringBuilder();
+        Matcher matcher = HEADLINE.matcher(content);
+        while (matcher.find()) {
+            items.append("""
+                                <li class="vector-toc-list-item vector-toc-level-%s"><a class="vector-toc-link" href="#%s"><div class="vector-toc-text">%s</div></a></li>
+                    """.formatted(Integer.parseInt(matcher.group(1)) - 1, matcher.group(2), matcher.group(3)));
+        }
+        if (items.isEmpty()) {
+            return "";
+        }
+        return """
+                        <nav id="vector-toc" class="vector-toc vector-pinnable-element" aria-label="Contents">
+                            <h2 class="vector-pinnable-header-label">Contents</h2>
+                            <ul class="vector-toc-contents" id="mw-panel-toc-list">
+                                <li id="toc-mw-content-text" class="vector-toc-list-item vector-toc-level-1"><a href="#" class="vector-toc-link"><div class="vector-toc-text">(Top)</div></a></li>
+                    %s            </ul>
+                        </nav>""".formatted(items);
+    }
+
+    private static String langButton(Map<String, String> langLinks) {
+        if (langLinks.isEmpty()) {
+            return "";
+        }
+        StringBuilder items = new StringBuilder();
+        for (Map.Entry<String, String> link : langLinks.entrySet()) {
+            String lang = link.getKey();
+            items.append("""
+                                    <li class="interlanguage-link interwiki-%1$s mw-list-item"><a href="/%1$s.wikipedia.org/wiki/%2$s" title="%3$s" lang="%1$s" hreflang="%1$s" class="interlanguage-link-target autonym"><span>%1$s</span></a></li>
+                    """.formatted(lang, Catalog.path(link.getValue()), escape(Catalog.display(link.getValue()))));
+        }
+        return """
+                    <div id="p-lang-btn" class="vector-dropdown mw-portlet mw-portlet-lang">
+                        <input type="checkbox" id="p-lang-btn-checkbox" role="button" class="vector-dropdown-checkbox mw-interlanguage-selector" aria-label="Go to an article in another language">
+                        <label id="p-lang-btn-label" for="p-lang-btn-checkbox" class="vector-dropdown-label">%d languages</label>
+                        <div class="vector-dropdown-content">
+                            <div class="vector-menu-content">
+                                <ul class="interlanguage-links">
+                    %s                </ul>
+                            </div>
+                        </div>
+                    </div>""".formatted(langLinks.size(), items);
+    }
+
+    private static String catlinks(Page page) {
+        if (page.categories().isEmpty()) {
+            return "";
+        }
+        String site = "/" + page.site().host();
+        StringBuilder items = new StringBuilder();
+        for (String category : page.categories()) {
+            items.append("<li><a href=\"").append(site).append("/wiki/Category:").append(Catalog.path(category))
+                    .append("\" title=\"Category:").append(escape(category)).append("\">")
+                    .append(escape(category)).append("</a></li>");
+        }
+        return """
+                    <div id="catlinks" class="catlinks" data-mw="interface">
+                        <div id="mw-normal-catlinks" class="mw-normal-catlinks"><a href="%s/wiki/Help:Category">Categories</a>: <ul>%s</ul></div>
+                    </div>""".formatted(site, items);
+    }
+}
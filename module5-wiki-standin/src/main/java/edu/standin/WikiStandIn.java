@@ -0,0 +1,468 @@
+package edu.standin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded, offline stand-in for the parts of Wikipedia the test suites touch.
+ * <p>
+ * Every live host is served under a path prefix on one local port, e.g.
+ * {@code https://en.wikipedia.org/wiki/Main_Page} becomes
+ * {@code http://127.0.0.1:<port>/en.wikipedia.org/wiki/Main_Page}. Links inside the fixtures are
+ * root-relative, so navigation stays on the stand-in. Supported: the portal and its search
+ * suggestions, articles (hand-written fixtures or generated), {@code Special:Search} with exact-title
+ * jumps and "did you mean", {@code Special:Random}, the login form ({@code wpName1}/{@code wpPassword1},
+ * error box, challenge after repeated failures) and logout, history, talk and category pages, and
+ * other language editions.
+ * <p>
+ * The stand-in's cookies are scoped to their host's prefix ({@code Path=/en.wikipedia.org}), so logging in
+ * on one edition does not log the browser in on another, as with the live hosts. Everything else the
+ * browser keeps per origin, such as {@code localStorage}, is shared by all hosts of one stand-in.
+ * <p>
+ * Every response is delayed by a fixed {@code latencyMillis}, which keeps timings repeatable.
+ * Run standalone with {@code java edu.standin.WikiStandIn [port] [latencyMillis]}.
+ */
+public final class WikiStandIn {
+
+    public static final String DEFAULT_USER = "Meeatbaag";
+    public static final String DEFAULT_PASSWORD = "Hkforty7!";
+
+    /** Failed logins after which the form asks for the extra word. */
+    private static final int CHALLENGE_AFTER_FAILURES = 3;
+
+    private static final String PORTAL_HOST = "www.wikipedia.org";
+    private static final String SESSION_COOKIE = "standin_user";
+    private static final String FAILURES_COOKIE = "standin_failures";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final String base;
+    private final Catalog catalog = new Catalog();
+    private final Skin skin;
+
+    private WikiStandIn(HttpServer server, ExecutorService executor, long latencyMillis) {
+        this.server = server;
+        this.executor = executor;
+        this.latencyMillis = latencyMillis;
+        this.base = "http://127.0.0.1:" + server.getAddress().getPort();
+        this.skin = new Skin(base);
+    }
+
+    /**
+     * Starts a stand-in on {@code port} (0 picks a free port) that delays every response by
+     * {@code latencyMillis}.
+     */
+    public static WikiStandIn start(int port, long latencyMillis) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "wiki-standin");
+            thread.setDaemon(true);
+            return thread;
+        });
+        WikiStandIn standIn = new WikiStandIn(server, executor, latencyMillis);
+        server.createContext("/", standIn::handle);
+        server.setExecutor(executor);
+        server.start();
+        return standIn;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        long latency = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        WikiStandIn standIn = start(port, latency);
+        System.out.println("Wikipedia stand-in listening on " + standIn.baseUrl()
+                + " (latency " + latency + " ms); portal at " + standIn.origin(PORTAL_HOST) + "/");
+    }
+
+    /**
+     * The server root, e.g. {@code http://127.0.0.1:8089}.
+     */
+    public String baseUrl() {
+        return base;
+    }
+
+    /**
+     * Stand-in replacement for {@code https://<host>}.
+     */
+    public String origin(String host) {
+        return base + "/" + host;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            String path = exchange.getRequestURI().getPath();
+            String[] parts = path.substring(1).split("/", 2);
+            String host = parts[0];
+            String rest = parts.length > 1 ? "/" + parts[1] : "/";
+            Map<String, String> params = parseForm(exchange.getRequestURI().getRawQuery());
+
+            if (rest.startsWith("/static/")) {
+                serveStatic(exchange, rest.substring("/static/".length()));
+            } else if (host.equals(PORTAL_HOST)) {
+                handlePortal(exchange, rest, params);
+            } else if (catalog.site(host) != null) {
+                handleWiki(exchange, catalog.site(host), rest, params);
+            } else {
+                send(exchange, 404, "text/plain; charset=UTF-8", "Unknown stand-in host: " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            send(exchange, 500, "text/plain; charset=UTF-8", "Stand-in error: " + e);
+        }
+    }
+
+    private void handlePortal(HttpExchange exchange, String rest, Map<String, String> params) throws IOException {
+        switch (rest) {
+            case "/" -> send(exchange, 200, "text/html; charset=UTF-8", skin.fixture("portal.html", PORTAL_HOST));
+            case "/search-redirect.php" -> {
+                String lang = params.getOrDefault("language", "en");
+                redirect(exchange, "/" + lang + ".wikipedia.org/w/index.php?title=Special:Search&search="
+                        + encode(params.getOrDefault("search", "")) + "&go=Go");
+            }
+            default -> send(exchange, 404, "text/plain; charset=UTF-8", "Not found");
+        }
+    }
+
+    private void handleWiki(HttpExchange exchange, Catalog.Site site, String rest, Map<String, String> params)
+            throws IOException {
+        if (rest.equals("/") || rest.equals("/wiki") || rest.equals("/wiki/")) {
+            redirect(exchange, "/" + site.host() + "/wiki/" + Catalog.path(site.mainPage()));
+            return;
+        }
+        if (rest.equals("/w/api.php")) {
+            openSearch(exchange, site, params);
+            return;
+        }
+        String title;
+        if (rest.equals("/w/index.php")) {
+            title = params.getOrDefault("title", params.containsKey("search") ? "Special:Search" : site.mainPage());
+        } else if (rest.startsWith("/wiki/")) {
+            title = rest.substring("/wiki/".length());
+        } else {
+            send(exchange, 404, "text/plain; charset=UTF-8", "Not found");
+            return;
+        }
+        title = title.replace(' ', '_');
+
+        if (title.equals("Special:Search") || title.equals("Especial:Buscar")) {
+            search(exchange, site, params);
+        } else if (title.equals("Special:Random")) {
+            redirect(exchange, "/" + site.host() + "/wiki/" + Catalog.path(catalog.randomTitle()));
+        } else if (title.equals("Special:UserLogin")) {
+            login(exchange, site, params);
+        } else if (title.equals("Special:UserLogout")) {
+            setCookie(exchange, site, SESSION_COOKIE, "", "; Max-Age=0");
+            redirect(exchange, "/" + site.host() + "/wiki/" + Catalog.path(params.getOrDefault("returnto", site.mainPage())));
+        } else if ("history".equals(params.get("action"))) {
+            history(exchange, site, title);
+        } else {
+            article(exchange, site, title);
+        }
+    }
+
+    private void article(HttpExchange exchange, Catalog.Site site, String title) throws IOException {
+        String user = cookies(exchange).get(SESSION_COOKIE);
+        boolean mainPage = Catalog.normalize(title).equals(Catalog.normalize(site.mainPage()));
+        Optional<Catalog.Article> fixture = catalog.article(site.host(), title);
+
+        String content;
+        List<String> categories;
+        Map<String, String> langLinks;
+        if (fixture.isPresent()) {
+            content = skin.fixture(fixture.get().fixture(), site.host());
+            categories = fixture.get().categories();
+            langLinks = fixture.get().langLinks();
+            title = fixture.get().title();
+        } else if (title.startsWith("Category:")) {
+            content = categoryListing(site, title);
+            categories = List.of();
+            langLinks = Map.of();
+        } else {
+            content = generatedArticle(site, title);
+            categories = title.contains(":") ? List.of() : List.of("Articles served by the stand-in");
+            langLinks = Map.of();
+        }
+
+        String display = Catalog.display(title);
+        String pageTitle = mainPage ? site.mainPageTitle() : display + site.titleSuffix();
+        send(exchange, 200, "text/html; charset=UTF-8", skin.render(new Skin.Page(site, title, pageTitle,
+                mainPage ? "Main Page" : display, content, !mainPage && !title.contains(":"), true,
+                categories, langLinks, user)));
+    }
+
+    private void history(HttpExchange exchange, Catalog.Site site, String title) throws IOException {
+        StringBuilder revisions = new StringBuilder();
+        String[] editors = {"Cewbot", "Citation bot", "Jevansen", "GreenC bot", "Mathglot"};
+        for (int i = 0; i < 20; i++) {
+            revisions.append("<li data-mw-revid=\"").append(1_250_000_000 - i * 1_234)
+                    .append("\"><span class=\"mw-changeslist-links\">cur | prev</span> ")
+                    .append("<a class=\"mw-changeslist-date\" href=\"/").append(site.host())
+                    .append("/w/index.php?title=").append(Catalog.path(title)).append("&amp;oldid=")
+                    .append(1_250_000_000 - i * 1_234).append("\">").append(String.format("%02d:%02d, %d March 2025", 10 + i % 10, i * 3 % 60, 28 - i))
+                    .append("</a> <span class=\"history-user\">").append(editors[i % editors.length])
+                    .append("</span> <span class=\"comment\">(copyedit)</span></li>\n");
+        }
+        String content = "<div class=\"mw-history-legend\"><p>For any version listed below, click on its date to view it.</p></div>\n"
+                + "<form action=\"/" + site.host() + "/w/index.php\" id=\"mw-history-compare\">\n"
+                + "<ul id=\"pagehistory\" class=\"mw-contributions-list\">\n" + revisions + "</ul>\n</form>";
+        String display = Catalog.display(title);
+        send(exchange, 200, "text/html; charset=UTF-8", skin.render(new Skin.Page(site, title,
+                display + ": Revision history" + site.titleSuffix(), display + ": Revision history", content,
+                false, true, List.of(), Map.of(), cookies(exchange).get(SESSION_COOKIE))));
+    }
+
+    private void search(HttpExchange exchange, Catalog.Site site, Map<String, String> params) throws IOException {
+        String query = params.getOrDefault("search", "").trim();
+        Optional<String> exact = catalog.exactTitle(site.host(), query.replace("\"", ""));
+        if (exact.isPresent() && !query.startsWith("\"") && !"fulltext".equals(params.get("fulltext"))) {
+            redirect(exchange, "/" + site.host() + "/wiki/" + Catalog.path(exact.get()));
+            return;
+        }
+
+        StringBuilder content = new StringBuilder("<div class=\"searchresults mw-searchresults-has-iw\">\n");
+        List<Catalog.Entry> results = query.isEmpty() ? List.of() : catalog.search(site.host(), query);
+        if (results.isEmpty() && !query.isEmpty()) {
+            Optional<String> suggestion = catalog.didYouMean(site.host(), query);
+            if (suggestion.isPresent()) {
+                content.append("<div class=\"searchdidyoumean\">Showing results for <a href=\"/").append(site.host())
+                        .append("/w/index.php?title=Special:Search&amp;search=").append(encode(suggestion.get()))
+                        .append("\" id=\"mw-search-DYM-rewritten\"><em>").append(Skin.escape(suggestion.get()))
+                        .append("</em></a>. No results found for <em>").append(Skin.escape(query)).append("</em>.</div>\n");
+                results = catalog.search(site.host(), suggestion.get());
+            }
+        }
+        if (query.isEmpty()) {
+            content.append("<p class=\"mw-search-nonefound\">Enter a search term to begin.</p>\n");
+        } else if (results.isEmpty()) {
+            content.append("<p class=\"mw-search-nonefound\">There were no results matching the query <em>")
+                    .append(Skin.escape(query)).append("</em>.</p>\n");
+        } else {
+            content.append("<div class=\"results-info\">Results 1 &ndash; ").append(results.size()).append(" of ")
+                    .append(results.size()).append("</div>\n<ul class=\"mw-search-results\">\n");
+            for (Catalog.Entry result : results) {
+                content.append("<li class=\"mw-search-result mw-search-result-ns-0\"><div class=\"mw-search-result-heading\"><a href=\"/")
+                        .append(site.host()).append("/wiki/").append(Catalog.path(result.title())).append("\" title=\"")
+                        .append(Skin.escape(result.title())).append("\">").append(Skin.escape(result.title()))
+                        .append("</a></div><div class=\"searchresult\">").append(Skin.escape(result.snippet()))
+                        .append("</div><div class=\"mw-search-result-data\">").append(result.snippet().length() / 6)
+                        .append(" KB (").append(result.snippet().split(" ").length * 97).append(" words)</div></li>\n");
+            }
+            content.append("</ul>\n");
+        }
+        content.append("</div>");
+
+        String heading = query.isEmpty() ? "Search" : "Search results";
+        String pageTitle = query.isEmpty() ? "Search" + site.titleSuffix()
+                : "Search results for \"" + query + "\"" + site.titleSuffix();
+        send(exchange, 200, "text/html; charset=UTF-8", skin.render(new Skin.Page(site, "Special:Search",
+                pageTitle, heading, content.toString(), false, false, List.of(), Map.of(),
+                cookies(exchange).get(SESSION_COOKIE))));
+    }
+
+    private void openSearch(HttpExchange exchange, Catalog.Site site, Map<String, String> params) throws IOException {
+        String query = params.getOrDefault("search", "");
+        int limit = Integer.parseInt(params.getOrDefault("limit", "10"));
+        List<Catalog.Entry> matches = query.isBlank() ? List.of() : catalog.suggest(site.host(), query, limit);
+        List<String> titles = new ArrayList<>();
+        List<String> descriptions = new ArrayList<>();
+        List<String> urls = new ArrayList<>();
+        for (Catalog.Entry match : matches) {
+            titles.add(json(match.title()));
+            descriptions.add(json(""));
+            urls.add(json(origin(site.host()) + "/wiki/" + Catalog.path(match.title())));
+        }
+        String body = "[" + json(query) + ",[" + String.join(",", titles) + "],["
+                + String.join(",", descriptions) + "],[" + String.join(",", urls) + "]]";
+        exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
+        send(exchange, 200, "application/json; charset=utf-8", body);
+    }
+
+    private void login(HttpExchange exchange, Catalog.Site site, Map<String, String> params) throws IOException {
+        Map<String, String> cookies = cookies(exchange);
+        int failures = Integer.parseInt(cookies.getOrDefault(FAILURES_COOKIE, "0"));
+        String returnTo = params.getOrDefault("returnto", site.mainPage());
+        String username = "";
+        String error = "";
+
+        if ("POST".equals(exchange.getRequestMethod())) {
+            Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            username = form.getOrDefault("wpName", "");
+            String password = form.getOrDefault("wpPassword", "");
+            if (username.isEmpty() || password.isEmpty()) {
+                error = "Please enter your " + (username.isEmpty() ? "username" : "password") + ".";
+            } else if (failures >= CHALLENGE_AFTER_FAILURES && form.getOrDefault("wpCaptchaWord", "").isEmpty()) {
+                error = "Please enter the word shown below.";
+            } else if (username.equals(DEFAULT_USER) && password.equals(DEFAULT_PASSWORD)) {
+                setCookie(exchange, site, SESSION_COOKIE, encode(username), "; HttpOnly");
+                setCookie(exchange, site, FAILURES_COOKIE, "0", "");
+                redirect(exchange, "/" + site.host() + "/wiki/" + Catalog.path(returnTo));
+                return;
+            } else {
+                error = "Incorrect username or password entered. Please try again.";
+            }
+            failures++;
+            setCookie(exchange, site, FAILURES_COOKIE, String.valueOf(failures), "");
+        }
+
+        String errorBox = error.isEmpty() ? "" : "                <div class=\"mw-message-box-error mw-message-box\">" + Skin.escape(error) + "</div>";
+        String challenge = failures >= CHALLENGE_AFTER_FAILURES ? """
+                            <div class="mw-htmlform-field-HTMLFancyCaptchaField mw-captcha-container">
+                                <label for="mw-input-captchaWord">CAPTCHA Security check</label>
+                                <img class="fancycaptcha-image" src="/%s/static/captcha.svg" alt="">
+                                <input id="mw-input-captchaWord" name="wpCaptchaWord" class="mw-captcha-input" autocomplete="off">
+                            </div>""".formatted(site.host()) : "";
+        String content = Skin.fill(skin.fixture("login_form.html", site.host()), Map.of(
+                "returnTo", Catalog.path(returnTo),
+                "error", errorBox,
+                "username", Skin.escape(username),
+                "challenge", challenge));
+        send(exchange, 200, "text/html; charset=UTF-8", skin.render(new Skin.Page(site, "Special:UserLogin",
+                "Log in" + site.titleSuffix(), "Log in", content, false, false, List.of(), Map.of(),
+                cookies.get(SESSION_COOKIE))));
+    }
+
+    private String generatedArticle(Catalog.Site site, String title) {
+        String display = Catalog.display(title);
+        String s = "/" + site.host();
+        String lead = catalog.snippet(site.host(), title)
+                .orElse(display + " is a subject covered by this encyclopedia.");
+        if (title.startsWith("Talk:")) {
+            return """
+                    <div class="mw-content-ltr mw-parser-output" lang="%1$s" dir="ltr">
+                    <p>This is the <a href="%2$s/wiki/Help:Talk_page">talk page</a> for discussing improvements to the <a href="%2$s/wiki/%3$s">%4$s</a> article.</p>
+                    <h2><span class="mw-headline" id="Sources">Sources</span></h2>
+                    <p>Are there better secondary sources for the history section? &mdash; <a href="%2$s/wiki/User:Example">Example</a> 12:00, 1 March 2025 (UTC)</p>
+                    </div>""".formatted(site.lang(), s, Catalog.path(title.substring(5)), Skin.escape(display.substring(5)));
+        }
+        return """
+                <div class="mw-content-ltr mw-parser-output" lang="%1$s" dir="ltr">
+                <p>%3$s</p>
+                <p>The topic is related to <a href="%2$s/wiki/Computer_science" title="Computer science">computer science</a>, <a href="%2$s/wiki/History" title="History">history</a> and <a href="%2$s/wiki/Science" title="Science">science</a>.</p>
+                <h2><span class="mw-headline" id="Overview">Overview</span></h2>
+                <p>%4$s has been described in many reliable sources.<sup class="reference"><a href="#cite_note-1">[1]</a></sup></p>
+                <h2><span class="mw-headline" id="History">History</span></h2>
+                <p>The history of %4$s is documented in several works.<sup class="reference"><a href="#cite_note-2">[2]</a></sup></p>
+                <h2><span class="mw-headline" id="See_also">See also</span></h2>
+                <ul><li><a href="%2$s/wiki/Outline_of_knowledge" title="Outline of knowledge">Outline of knowledge</a></li></ul>
+                <h2><span class="mw-headline" id="References">References</span></h2>
+                <ol class="references">
+                <li id="cite_note-1"><span class="reference-text"><cite class="citation web cs1"><a rel="nofollow" class="external text" href="https://example.org/%5$s">"%4$s"</a>. <i>example.org</i>.</cite></span></li>
+                <li id="cite_note-2"><span class="reference-text"><cite class="citation book cs1"><i>A History of %4$s</i>. Example Press. 2020.</cite></span></li>
+                </ol>
+                </div>""".formatted(site.lang(), s, Skin.escape(lead), Skin.escape(display), Catalog.path(title));
+    }
+
+    private String categoryListing(Catalog.Site site, String title) {
+        String name = Catalog.display(title.substring("Category:".length()));
+        StringBuilder pages = new StringBuilder();
+        for (Catalog.Entry entry : catalog.search(site.host(), name.split(" ")[0])) {
+            pages.append("<li><a href=\"/").append(site.host()).append("/wiki/").append(Catalog.path(entry.title()))
+                    .append("\">").append(Skin.escape(entry.title())).append("</a></li>");
+        }
+        return """
+                <div class="mw-content-ltr mw-parser-output" lang="%s" dir="ltr"><p>This category contains articles about %s.</p></div>
+                <div id="mw-pages"><h2>Pages in category "%s"</h2><div class="mw-content-ltr"><ul>%s</ul></div></div>"""
+                .formatted(site.lang(), Skin.escape(name), Skin.escape(name), pages);
+    }
+
+    private static void serveStatic(HttpExchange exchange, String name) throws IOException {
+        if (!name.matches("[a-z0-9-]+\\.svg")) {
+            send(exchange, 404, "text/plain; charset=UTF-8", "Not found");
+            return;
+        }
+        exchange.getResponseHeaders().add("Cache-Control", "max-age=86400");
+        send(exchange, 200, "image/svg+xml", Skin.resource("static/" + name));
+    }
+
+    /**
+     * Sets a cookie that only requests for {@code site}'s host send back.
+     */
+    private static void setCookie(HttpExchange exchange, Catalog.Site site, String name, String value,
+                                  String attributes) {
+        exchange.getResponseHeaders().add("Set-Cookie", name + "=" + value + "; Path=/" + site.host() + attributes);
+    }
+
+    private static Map<String, String> cookies(HttpExchange exchange) {
+        Map<String, String> cookies = new LinkedHashMap<>();
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String pair : header.split(";")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    cookies.put(pair.substring(0, eq).trim(),
+                            URLDecoder.decode(pair.substring(eq + 1).trim(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return cookies;
+    }
+
+    private static Map<String, String> parseForm(String raw) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return values;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            values.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static String encode(String value) {
+        return java.net.URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String json(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c < 0x20 ? String.format("\\u%04x", (int) c) : String.valueOf(c));
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
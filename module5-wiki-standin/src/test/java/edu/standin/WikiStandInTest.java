@@ -0,0 +1,153 @@
+package edu.standin;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+public class WikiStandInTest {
+
+    private WikiStandIn standIn;
+
+    @BeforeClass
+    public void start() throws IOException {
+        standIn = WikiStandIn.start(0, 0);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stop() {
+        standIn.stop();
+    }
+
+    // Each test gets its own cookie jar, so logins do not carry over between tests
+    private static HttpClient client() {
+        return HttpClient.newBuilder().cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER).build();
+    }
+
+    private HttpResponse<String> get(HttpClient client, String host, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(standIn.origin(host) + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> logIn(HttpClient client, String user, String pass, String captcha) throws Exception {
+        String form = "wpName=" + encode(user) + "&wpPassword=" + encode(pass)
+                + (captcha == null ? "" : "&wpCaptchaWord=" + encode(captcha));
+        return client.send(HttpRequest.newBuilder(URI.create(standIn.origin("en.wikipedia.org")
+                                + "/w/index.php?title=Special:UserLogin&returnto=Main_Page"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String location(HttpResponse<String> response) {
+        return response.headers().firstValue("Location").orElse("");
+    }
+
+    @Test(description = "Hosts are path prefixes: the portal, a wiki's root and unknown hosts")
+    public void testRouting() throws Exception {
+        HttpClient client = client();
+        HttpResponse<String> portal = get(client, "www.wikipedia.org", "/");
+        Assert.assertEquals(portal.statusCode(), 200);
+        Assert.assertTrue(portal.body().contains("id=\"searchInput\""), "Portal should have the search box");
+
+        HttpResponse<String> root = get(client, "en.wikipedia.org", "/");
+        Assert.assertEquals(root.statusCode(), 302);
+        Assert.assertEquals(location(root), "/en.wikipedia.org/wiki/Main_Page");
+
+        HttpResponse<String> article = get(client, "en.wikipedia.org", "/wiki/Alan_Turing");
+        Assert.assertEquals(article.statusCode(), 200);
+        Assert.assertTrue(article.body().contains("id=\"mw-content-text\""), "Articles should have content");
+
+        HttpResponse<String> redirect = get(client, "www.wikipedia.org", "/search-redirect.php?language=en&search=Tokyo");
+        Assert.assertEquals(redirect.statusCode(), 302);
+        Assert.assertTrue(location(redirect).startsWith("/en.wikipedia.org/w/index.php?title=Special:Search&search=Tokyo"),
+                location(redirect));
+
+        Assert.assertEquals(get(client, "xx.example.org", "/").statusCode(), 404);
+    }
+
+    @Test(description = "The right credentials log in, and the session cookie stays on its host")
+    public void testLoginScopedToHost() throws Exception {
+        HttpClient client = client();
+        HttpResponse<String> login = logIn(client, WikiStandIn.DEFAULT_USER, WikiStandIn.DEFAULT_PASSWORD, null);
+        Assert.assertEquals(login.statusCode(), 302);
+        Assert.assertEquals(location(login), "/en.wikipedia.org/wiki/Main_Page");
+
+        Assert.assertTrue(get(client, "en.wikipedia.org", "/wiki/Main_Page").body().contains("pt-userpage-2"),
+                "Logged in on en");
+        Assert.assertFalse(get(client, "fr.wikipedia.org", "/wiki/Main_Page").body().contains("pt-userpage-2"),
+                "Not logged in on fr");
+
+        get(client, "en.wikipedia.org", "/w/index.php?title=Special:UserLogout");
+        Assert.assertFalse(get(client, "en.wikipedia.org", "/wiki/Main_Page").body().contains("pt-userpage-2"),
+                "Logged out on en");
+    }
+
+    @Test(description = "Wrong credentials show the error box, and repeated failures ask for the extra word")
+    public void testLockoutChallenge() throws Exception {
+        HttpClient client = client();
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            HttpResponse<String> failed = logIn(client, "nobody", "wrong", null);
+            Assert.assertEquals(failed.statusCode(), 200);
+            Assert.assertTrue(failed.body().contains("mw-message-box-error"), "Error box on attempt " + attempt);
+            Assert.assertEquals(failed.body().contains("mw-captcha-container"), attempt == 3,
+                    "Challenge shown only after three failures, attempt " + attempt);
+        }
+
+        HttpResponse<String> withoutWord = logIn(client, WikiStandIn.DEFAULT_USER, WikiStandIn.DEFAULT_PASSWORD, null);
+        Assert.assertEquals(withoutWord.statusCode(), 200, "Right credentials without the word are refused");
+        Assert.assertTrue(withoutWord.body().contains("Please enter the word shown below."));
+
+        HttpResponse<String> withWord = logIn(client, WikiStandIn.DEFAULT_USER, WikiStandIn.DEFAULT_PASSWORD, "word");
+        Assert.assertEquals(withWord.statusCode(), 302, "Right credentials with the word log in");
+    }
+
+    @Test(description = "An empty field is refused with a message naming it")
+    public void testEmptyCredentials() throws Exception {
+        HttpResponse<String> response = logIn(client(), "", "", null);
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertTrue(response.body().contains("Please enter your username."));
+    }
+
+    @Test(description = "Search jumps to exact titles and lists results or the no-results notice otherwise")
+    public void testSearch() throws Exception {
+        HttpClient client = client();
+        HttpResponse<String> exact = get(client, "en.wikipedia.org", "/w/index.php?title=Special:Search&search=Albert+Einstein&go=Go");
+        Assert.assertEquals(exact.statusCode(), 302);
+        Assert.assertEquals(location(exact), "/en.wikipedia.org/wiki/Albert_Einstein");
+
+        HttpResponse<String> results = get(client, "en.wikipedia.org",
+                "/w/index.php?title=Special:Search&search=quantum+physics+nobel+prize&go=Go");
+        Assert.assertEquals(results.statusCode(), 200);
+        Assert.assertTrue(results.body().contains("mw-search-results"), "Keywords should list results");
+        Assert.assertTrue(results.body().contains("Quantum mechanics"));
+
+        HttpResponse<String> none = get(client, "en.wikipedia.org", "/w/index.php?title=Special:Search&search=qqqqzzzzxxxx");
+        Assert.assertTrue(none.body().contains("mw-search-nonefound"), "Nonsense should find nothing");
+
+        HttpResponse<String> empty = get(client, "en.wikipedia.org", "/w/index.php?title=Special:Search&search=");
+        Assert.assertTrue(empty.body().contains("Enter a search term to begin."));
+    }
+
+    @Test(description = "The suggestion API answers in the opensearch format, by title prefix")
+    public void testSuggestions() throws Exception {
+        HttpResponse<String> response = get(client(), "en.wikipedia.org", "/w/api.php?action=opensearch&search=United+Stat&limit=3");
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertTrue(response.body().startsWith("[\"United Stat\",[\"United States"), response.body());
+        Assert.assertEquals(response.body().split("/wiki/United_States").length - 1, 3, response.body());
+    }
+}
@@ -0,0 +1,77 @@
+package edu.bench;
+
+import edu.standin.WikiStandIn;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * The pages the locators are measured against, served by the Wikipedia stand-in, which mirrors the
+ * live markup the tests were written for. Some pages need a few steps to reach the state a test
+ * inspects (e.g. the login form showing its error box).
+ */
+enum FixturePage {
+
+    PORTAL {
+        @Override
+        void open(WebDriver driver, WikiStandIn standIn) {
+            driver.get(standIn.origin("www.wikipedia.org") + "/");
+        }
+    },
+    MAIN_PAGE {
+        @Override
+        void open(WebDriver driver, WikiStandIn standIn) {
+            driver.get(standIn.origin(EN) + "/wiki/Main_Page");
+        }
+    },
+    JAVA_ARTICLE {
+        @Override
+        void open(WebDriver driver, WikiStandIn standIn) {
+            driver.get(standIn.origin(EN) + "/wiki/Java_(programming_language)");
+        }
+    },
+    SELENIUM_ARTICLE {
+        @Override
+        void open(WebDriver driver, WikiStandIn standIn) {
+            driver.get(standIn.origin(EN) + "/wiki/Selenium_(software)");
+        }
+    },
+    SEARCH_RESULTS {
+        @Override
+        void open(WebDriver driver, WikiStandIn standIn) {
+            driver.get(standIn.origin(EN) + "/w/index.php?title=Special:Search&search=quantum+physics+nobel+prize");
+        }
+    },
+    LOGIN_ERROR {
+        @Override
+        void open(WebDriver driver, WikiStandIn standIn) {
+            logIn(driver, standIn, "bench_user", "wrong-password");
+            waitFor(driver).until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".mw-message-box-error")));
+        }
+    },
+    LOGGED_IN {
+        @Override
+        void open(WebDriver driver, WikiStandIn standIn) {
+            logIn(driver, standIn, WikiStandIn.DEFAULT_USER, WikiStandIn.DEFAULT_PASSWORD);
+            waitFor(driver).until(ExpectedConditions.presenceOfElementLocated(By.id("pt-userpage-2")));
+        }
+    };
+
+    private static final String EN = "en.wikipedia.org";
+
+    abstract void open(WebDriver driver, WikiStandIn standIn);
+
+    private static void logIn(WebDriver driver, WikiStandIn standIn, String user, String password) {
+        driver.get(standIn.origin(EN) + "/w/index.php?title=Special:UserLogin&returnto=Main_Page");
+        driver.findElement(By.id("wpName1")).sendKeys(user);
+        driver.findElement(By.id("wpPassword1")).sendKeys(password);
+        driver.findElement(By.id("wpLoginAttempt")).click();
+    }
+
+    private static WebDriverWait waitFor(WebDriver driver) {
+        return new WebDriverWait(driver, Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,74 @@
+package edu.bench;
+
+import org.openqa.selenium.By;
+
+/**
+ * Every locator pattern the four test classes rely on, grouped by test class. Where a test uses a
+ * costly pattern, a cheaper equivalent for the same element sits next to it so the two can be
+ * compared directly.
+ */
+public enum Locator {
+
+    // AuthenticationTest
+    AUTH_ERROR_ABSOLUTE_XPATH(FixturePage.LOGIN_ERROR,
+            By.xpath("/html/body/div[2]/div/div[3]/main/div[3]/div[3]/div[2]/div/form/div[1]/div")),
+    AUTH_ERROR_CSS_CLASS(FixturePage.LOGIN_ERROR, By.cssSelector(".mw-message-box-error")),
+    AUTH_USERNAME_ID(FixturePage.LOGIN_ERROR, By.id("wpName1")),
+    AUTH_LOGIN_LINK_XPATH(FixturePage.MAIN_PAGE, By.xpath("//li[@id='pt-login-2']/a")),
+    AUTH_LOGIN_LINK_CSS(FixturePage.MAIN_PAGE, By.cssSelector("#pt-login-2 > a")),
+    AUTH_USER_NAME_TEXT_XPATH(FixturePage.LOGGED_IN, By.xpath("//li[@id='pt-userpage-2']/a/span[text()='Meeatbaag']")),
+    AUTH_USER_NAME_CSS(FixturePage.LOGGED_IN, By.cssSelector("#pt-userpage-2 > a > span")),
+    AUTH_LOGOUT_XPATH(FixturePage.LOGGED_IN, By.xpath("//li[@id='pt-logout']/a")),
+
+    // ContentTest
+    CONTENT_FEATURED_ID(FixturePage.MAIN_PAGE, By.id("mp-tfa")),
+    CONTENT_TOC_CSS_LIST(FixturePage.JAVA_ARTICLE, By.cssSelector(".vector-toc, .mw-table-of-contents")),
+    CONTENT_ALL_LINKS_TAG(FixturePage.JAVA_ARTICLE, By.tagName("a")),
+    CONTENT_EXTERNAL_LINKS_TEXT_XPATH(FixturePage.JAVA_ARTICLE, By.xpath("//span[contains(text(), 'External links')]")),
+    CONTENT_EXTERNAL_LINKS_ID(FixturePage.JAVA_ARTICLE, By.id("External_links")),
+    CONTENT_EXTERNAL_LIST_XPATH(FixturePage.JAVA_ARTICLE,
+            By.xpath("//span[@id='External_links']/ancestor::h2/following-sibling::ul[1]")),
+    CONTENT_EXTERNAL_CLASS(FixturePage.JAVA_ARTICLE, By.cssSelector(".external")),
+    CONTENT_SEE_ALSO_XPATH(FixturePage.JAVA_ARTICLE, By.xpath("//span[@id='See_also' or contains(text(), 'See also')]")),
+    CONTENT_SEE_ALSO_LIST_XPATH(FixturePage.JAVA_ARTICLE,
+            By.xpath("//span[@id='See_also' or contains(text(), 'See also')]/ancestor::h2/following-sibling::ul[1]")),
+    CONTENT_INFOBOX_IMG_CSS(FixturePage.JAVA_ARTICLE, By.cssSelector(".infobox img")),
+    CONTENT_INFOBOX_CLASS(FixturePage.JAVA_ARTICLE, By.className("infobox")),
+    CONTENT_REFERENCES_CSS(FixturePage.JAVA_ARTICLE, By.cssSelector(".references li")),
+    CONTENT_CITATION_LINKS_CSS(FixturePage.JAVA_ARTICLE, By.cssSelector(".references a.external")),
+    CONTENT_FOOTER_CSS_LIST(FixturePage.JAVA_ARTICLE, By.cssSelector("#footer, .mw-footer, footer")),
+    CONTENT_FOOTER_ID(FixturePage.JAVA_ARTICLE, By.id("footer")),
+    CONTENT_FOOTER_LINK_TEXT(FixturePage.JAVA_ARTICLE, By.linkText("Privacy policy")),
+    CONTENT_FOOTER_PARTIAL_LINK_TEXT(FixturePage.JAVA_ARTICLE, By.partialLinkText("Terms of Use")),
+    CONTENT_FOOTER_PRIVACY_ID_CSS(FixturePage.JAVA_ARTICLE, By.cssSelector("#footer-places-privacy > a")),
+
+    // NavigationTest
+    NAV_LOGO_CSS(FixturePage.SELENIUM_ARTICLE, By.cssSelector("a.mw-logo")),
+    NAV_CANONICAL_CSS(FixturePage.SELENIUM_ARTICLE, By.cssSelector("link[rel='canonical']")),
+    NAV_TOC_LINKS_CSS(FixturePage.SELENIUM_ARTICLE, By.cssSelector("ul#mw-panel-toc-list li a[href*='#']:not([href$='#'])")),
+    NAV_HISTORY_TAB_CSS(FixturePage.SELENIUM_ARTICLE, By.cssSelector("#ca-history a")),
+    NAV_CATEGORY_LINKS_CSS(FixturePage.SELENIUM_ARTICLE, By.cssSelector(".mw-normal-catlinks ul li a")),
+    NAV_LANGUAGE_FR_CSS(FixturePage.SELENIUM_ARTICLE, By.cssSelector("li.interwiki-fr > a.autonym[lang='fr']")),
+    NAV_RANDOM_PAGE_CSS(FixturePage.MAIN_PAGE, By.cssSelector("li#n-randompage a")),
+
+    // SearchTest
+    SEARCH_INPUT_ID(FixturePage.PORTAL, By.id("searchInput")),
+    SEARCH_RESULTS_CLASS(FixturePage.SEARCH_RESULTS, By.className("mw-search-results")),
+    SEARCH_BODY_TAG(FixturePage.SEARCH_RESULTS, By.tagName("body"));
+
+    private final FixturePage page;
+    private final By by;
+
+    Locator(FixturePage page, By by) {
+        this.page = page;
+        this.by = by;
+    }
+
+    FixturePage page() {
+        return page;
+    }
+
+    public By by() {
+        return by;
+    }
+}
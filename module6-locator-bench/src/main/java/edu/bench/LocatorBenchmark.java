@@ -0,0 +1,78 @@
+package edu.bench;
+
+import edu.shared.session.BrowserProfile;
+import edu.shared.session.DriverBinaries;
+import edu.standin.WikiStandIn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per {@code findElements} call for each {@link Locator}, against the stand-in pages in a
+ * headless ({@link BrowserProfile#LEAN}) Chrome. Every locator runs as its own trial with the page
+ * already loaded, so only the lookup round trip is measured.
+ * <pre>
+ * mvn -pl module6-locator-bench -am package -DskipTests
+ * java -jar module6-locator-bench/target/benchmarks.jar                          # all locators
+ * java -jar module6-locator-bench/target/benchmarks.jar -p locator=AUTH_ERROR_ABSOLUTE_XPATH,AUTH_ERROR_CSS_CLASS
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+
+    // No values: JMH runs every Locator constant
+    @Param
+    public Locator locator;
+
+    private WikiStandIn standIn;
+    private WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void openPage() throws IOException {
+        standIn = WikiStandIn.start(0, 0);
+        DriverBinaries.resolve();
+        driver = new ChromeDriver(BrowserProfile.LEAN.options());
+        locator.page().open(driver, standIn);
+        if (driver.findElements(locator.by()).isEmpty()) {
+            throw new IllegalStateException(locator + " matches nothing on " + locator.page()
+                    + "; the benchmark would only measure a miss");
+        }
+    }
+
+    @Benchmark
+    public List<WebElement> findElements() {
+        return driver.findElements(locator.by());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        if (driver != null) {
+            driver.quit();
+        }
+        if (standIn != null) {
+            standIn.stop();
+        }
+    }
+}